@@ -0,0 +1,80 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.droid.zero.multitenantaipayrollsystem.security.filters.JwtAuthenticationFilter;
+import org.droid.zero.multitenantaipayrollsystem.security.filters.TenantContextFilter;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.PrincipalMode;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two filters every bearer request passes through before reaching a controller:
+ * {@link TenantContextFilter} verifies the token, checks the tenant against the registry and binds it, {@link JwtAuthenticationFilter} reuses the
+ * verified token and authenticates the principal. In {@code DATABASE} mode the user is loaded from an in-memory
+ * {@code UserDetailsService}, so the numbers exclude the real database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class AuthFilterChainBenchmark {
+
+    private static final String USERNAME = "jane.doe@example.com";
+
+    @Param({"DATABASE", "CLAIMS"})
+    private PrincipalMode principalMode;
+
+    private TenantContextFilter tenantContextFilter;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        TokenService tokenService = BenchmarkFixtures.tokenService();
+        InMemoryUserDetailsManager userDetailsService = new InMemoryUserDetailsManager(
+                User.withUsername(USERNAME).password("{noop}password").roles("EMPLOYEE").build()
+        );
+
+        UUID tenantId = UUID.randomUUID();
+        tenantContextFilter = new TenantContextFilter(
+                tokenService, BenchmarkFixtures.tenantRegistry(tenantId), new ErrorResponseWriter(new ObjectMapper())
+        );
+        ReflectionTestUtils.setField(tenantContextFilter, "baseUrl", BenchmarkFixtures.BASE_URL);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(tokenService, userDetailsService);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "principalMode", principalMode);
+
+        String token = tokenService.generateToken(
+                UUID.randomUUID(), USERNAME, "ROLE_EMPLOYEE", tenantId.toString(), UUID.randomUUID().toString()
+        );
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public void bearerRequest(Blackhole blackhole) throws Exception {
+        // Both filters are once-per-request, so every invocation needs a fresh request
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", BenchmarkFixtures.BASE_URL + "/employees");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain controller = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            tenantContextFilter.doFilter(request, response, (req, res) -> jwtAuthenticationFilter.doFilter(req, res, controller));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
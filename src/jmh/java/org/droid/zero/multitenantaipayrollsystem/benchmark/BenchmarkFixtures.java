@@ -0,0 +1,72 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.RevokedTokenRegistry;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.SecurityStampService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the auth components the way Spring would, minus the container.
+ * Redis is stubbed, but stamps and revocations are served from the in-process caches exactly as in production,
+ * so the stub is only hit while the caches warm up.
+ */
+final class BenchmarkFixtures {
+
+    static final String BASE_URL = "/api/v1";
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * A registry that already holds one active tenant, as after the startup load.
+     */
+    static TenantRegistry tenantRegistry(UUID tenantId) {
+        Tenant tenant = new Tenant("Benchmark Tenant", "tenant@example.com", "0000000000", "Software");
+        tenant.setId(tenantId);
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findAll()).thenReturn(List.of(tenant));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TenantRegistry tenantRegistry = new TenantRegistry(tenantRepository, mock(RedisCacheClient.class), meterRegistry, new ReadReplicaRouter(Optional.empty(), meterRegistry));
+        ReflectionTestUtils.invokeMethod(tenantRegistry, "init");
+        tenantRegistry.refresh();
+        return tenantRegistry;
+    }
+
+    static TokenService tokenService() {
+        RedisCacheClient redisCacheClient = mock(RedisCacheClient.class);
+        when(redisCacheClient.scanBlacklist()).thenReturn(Map.of());
+        when(redisCacheClient.getSecurityStamp(any())).thenReturn(0L);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(redisCacheClient, meterRegistry);
+        ReflectionTestUtils.setField(revokedTokenRegistry, "expectedInsertions", 100_000L);
+        ReflectionTestUtils.setField(revokedTokenRegistry, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.setField(revokedTokenRegistry, "maxExactEntries", 10_000);
+        ReflectionTestUtils.invokeMethod(revokedTokenRegistry, "init");
+
+        SecurityStampService securityStampService = new SecurityStampService(redisCacheClient, 60_000L, 100_000L);
+
+        TokenService tokenService = new TokenService(revokedTokenRegistry, securityStampService, meterRegistry);
+        ReflectionTestUtils.setField(tokenService, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(tokenService, "JWT_EXPIRATION_MILLIS", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        return tokenService;
+    }
+}
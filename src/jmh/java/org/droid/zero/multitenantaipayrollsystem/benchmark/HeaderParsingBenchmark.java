@@ -0,0 +1,56 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.security.filters.RateLimitCheckFilter;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Header parsing that runs on every request: the bearer token on the API chain and the basic credentials on login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class HeaderParsingBenchmark {
+
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest basicRequest;
+    private RateLimitCheckFilter rateLimitCheckFilter;
+
+    @Setup
+    public void setUp() {
+        String token = BenchmarkFixtures.tokenService()
+                .generateToken(UUID.randomUUID(), "jane.doe@example.com", "ROLE_EMPLOYEE", UUID.randomUUID().toString(), null);
+        bearerRequest = new MockHttpServletRequest();
+        bearerRequest.addHeader("Authorization", "Bearer " + token);
+
+        basicRequest = new MockHttpServletRequest();
+        basicRequest.addHeader("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString("jane.doe@example.com:correct-horse-battery-staple".getBytes(StandardCharsets.UTF_8)));
+
+        // Only the header parsing is measured, the redis-backed collaborators are never touched
+        rateLimitCheckFilter = new RateLimitCheckFilter(mock(RedisCacheClient.class), mock(ErrorResponseWriter.class));
+    }
+
+    @Benchmark
+    public String extractJwt() {
+        return HeaderUtils.extractJwt(bearerRequest);
+    }
+
+    @Benchmark
+    public String extractBasicAuthUsername() {
+        return rateLimitCheckFilter.extractBasicAuthUsername(basicRequest);
+    }
+}
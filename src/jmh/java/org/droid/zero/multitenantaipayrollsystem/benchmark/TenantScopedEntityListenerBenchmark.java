@@ -0,0 +1,60 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener.TenantScopedEntityListener;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.UserTenantRole;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tenant check run on every load, persist, update and remove of a tenant scoped entity.
+ * It is invoked once per row, so a page of 50 entities pays for it 50 times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class TenantScopedEntityListenerBenchmark {
+
+    @Param({"EMPLOYEE", "SUPER_ADMIN"})
+    private UserRole role;
+
+    private final TenantScopedEntityListener listener = new TenantScopedEntityListener(new SimpleMeterRegistry());
+    private UserTenantRole entity;
+
+    @Setup
+    public void setUp() {
+        UUID tenantId = UUID.randomUUID();
+        entity = new UserTenantRole();
+        ReflectionTestUtils.setField(entity, "tenantId", tenantId);
+
+        // JMH runs setup and measurement on the same thread for Scope.Thread, so the thread-locals stay bound
+        TenantContext.setTenantId(tenantId);
+        User user = User.fromTokenClaims(UUID.randomUUID(), "jane.doe@example.com", Set.of(role));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void checkTenant() {
+        listener.checkTenant(entity);
+    }
+}
@@ -0,0 +1,193 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.droid.zero.multitenantaipayrollsystem.PayrollSystemApplication;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener.TenantScopedEntityListener;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.UserTenantRole;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.resolver.TenantIdentifierResolver;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@code @PostLoad} tenant check when a query loads 100k tenant scoped entities, with and without the
+ * listener. The rows are read from PostgreSQL through a read-only transaction and the application's entity mapping,
+ * so the check is measured against the JDBC reads and the hydration it runs next to. {@code withoutListener} turns
+ * the JPA callbacks off, which on a load only removes this listener.
+ * <p>
+ * {@code OWN_TENANT} rows belong to the bound tenant, as every row read through the tenant-filtered session does.
+ * {@code OTHER_TENANTS} rows belong to other tenants and are read by a super admin bound to the root tenant, the
+ * only session Hibernate does not filter.
+ * <p>
+ * The database runs in a container, so this benchmark needs Docker like the integration tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class TenantScopedEntityLoadBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int OTHER_TENANTS = 16;
+
+    public enum Rows { OWN_TENANT, OTHER_TENANTS }
+
+    @Param({"OWN_TENANT", "OTHER_TENANTS"})
+    private Rows rows;
+
+    private PostgreSQLContainer<?> postgres;
+    private GenericApplicationContext beans;
+    private EntityManagerFactory listenedEntityManagerFactory;
+    private EntityManagerFactory unlistenedEntityManagerFactory;
+    private Loader listenedLoader;
+    private Loader unlistenedLoader;
+
+    /**
+     * Loads every membership visible to the bound tenant in a read-only transaction, as the services read.
+     */
+    private record Loader(TransactionTemplate transactionTemplate, EntityManager entityManager) {
+
+        Loader(EntityManagerFactory entityManagerFactory) {
+            this(new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)),
+                    SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+            transactionTemplate.setReadOnly(true);
+        }
+
+        List<UserTenantRole> load() {
+            return transactionTemplate.execute(status ->
+                    entityManager.createQuery("select r from UserTenantRole r", UserTenantRole.class).getResultList()
+            );
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+        postgres.start();
+        DataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migrations").load().migrate();
+
+        UUID ownTenantId = UUID.randomUUID();
+        seed(new JdbcTemplate(dataSource), ownTenantId);
+
+        // The listener is built by the bean container, as in the application
+        beans = new GenericApplicationContext();
+        beans.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        beans.registerBean(TenantScopedEntityListener.class);
+        beans.refresh();
+        listenedEntityManagerFactory = entityManagerFactory(dataSource, true);
+        unlistenedEntityManagerFactory = entityManagerFactory(dataSource, false);
+        listenedLoader = new Loader(listenedEntityManagerFactory);
+        unlistenedLoader = new Loader(unlistenedEntityManagerFactory);
+
+        // Cross-tenant rows only pass the check for a super admin
+        UserRole role = rows == Rows.OWN_TENANT ? UserRole.EMPLOYEE : UserRole.SUPER_ADMIN;
+        TenantContext.setTenantId(rows == Rows.OWN_TENANT ? ownTenantId : TenantContext.getRootTenantId());
+        User user = User.fromTokenClaims(UUID.randomUUID(), "jane.doe@example.com", Set.of(role));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        listenedEntityManagerFactory.close();
+        unlistenedEntityManagerFactory.close();
+        beans.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<UserTenantRole> withoutListener() {
+        return unlistenedLoader.load();
+    }
+
+    @Benchmark
+    public List<UserTenantRole> withListener() {
+        return listenedLoader.load();
+    }
+
+    /**
+     * One user and one membership per row, all in the bound tenant for {@code OWN_TENANT} and spread over other
+     * tenants otherwise.
+     */
+    private void seed(JdbcTemplate jdbcTemplate, UUID ownTenantId) {
+        jdbcTemplate.update("""
+                INSERT INTO tenants (id, name, email, phone, industry, is_active, version)
+                SELECT CASE WHEN i = 0 THEN ?::uuid ELSE gen_random_uuid() END,
+                       'Tenant ' || i, 'tenant' || i || '@example.com', lpad(i::text, 10, '0'), 'Software', TRUE, 0
+                FROM generate_series(0, ?) i
+                """, ownTenantId, OTHER_TENANTS);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, contact_email, is_active, is_verified, version)
+                SELECT gen_random_uuid(), 'First' || i, 'Last' || i, 'user' || i || '@example.com', TRUE, TRUE, 0
+                FROM generate_series(1, ?) i
+                """, ROWS);
+        if (rows == Rows.OWN_TENANT) {
+            jdbcTemplate.update("""
+                    INSERT INTO user_tenant_role (id, tenant_id, user_id, created_at, updated_at, version)
+                    SELECT gen_random_uuid(), ?::uuid, id, now(), now(), 0
+                    FROM users
+                    """, ownTenantId);
+        } else {
+            jdbcTemplate.update("""
+                    INSERT INTO user_tenant_role (id, tenant_id, user_id, created_at, updated_at, version)
+                    SELECT gen_random_uuid(), t.ids[1 + u.n % ?], u.id, now(), now(), 0
+                    FROM (SELECT id, row_number() OVER () AS n FROM users) u,
+                         (SELECT array_agg(id) AS ids FROM tenants WHERE id <> ?::uuid) t
+                    """, OTHER_TENANTS, ownTenantId);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * The application's mapping with the settings Spring Boot applies to it, minus the connection pool.
+     */
+    private EntityManagerFactory entityManagerFactory(DataSource dataSource, boolean callbacksEnabled) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(PayrollSystemApplication.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName(),
+                AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver(),
+                AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beans.getBeanFactory()),
+                AvailableSettings.JPA_CALLBACKS_ENABLED, callbacksEnabled
+        ));
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+}
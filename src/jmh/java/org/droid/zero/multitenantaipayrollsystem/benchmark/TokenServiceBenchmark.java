@@ -0,0 +1,51 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing a bearer token on login/refresh, and verifying it plus reading its claims on every bearer request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private UUID userId;
+    private String tenantId;
+    private String sessionId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = BenchmarkFixtures.tokenService();
+        userId = UUID.randomUUID();
+        tenantId = UUID.randomUUID().toString();
+        sessionId = UUID.randomUUID().toString();
+        token = tokenService.generateToken(userId, "jane.doe@example.com", "ROLE_EMPLOYEE,ROLE_HR_OFFICER", tenantId, sessionId);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(userId, "jane.doe@example.com", "ROLE_EMPLOYEE,ROLE_HR_OFFICER", tenantId, sessionId);
+    }
+
+    @Benchmark
+    public void verifyAndExtractClaims(Blackhole blackhole) {
+        VerifiedToken verified = tokenService.verify(token);
+        blackhole.consume(verified.username());
+        blackhole.consume(verified.userId());
+        blackhole.consume(verified.tenantId());
+        blackhole.consume(verified.roles());
+        blackhole.consume(verified.securityStamp());
+    }
+}
@@ -0,0 +1,96 @@
+package org.droid.zero.multitenantaipayrollsystem.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.security.crypto.BoundedPasswordEncoder;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput of Tomcat's default 200 platform threads against a virtual thread per request, under a
+ * read-only load and a mixed load of 90% reads and 10% logins.
+ * <p>
+ * A read binds its tenant and blocks for {@value #READ_LATENCY_MILLIS} ms, standing in for the JDBC and Redis round
+ * trips. A login blocks for {@value #LOGIN_LATENCY_MILLIS} ms (credentials lookup and rate limit check) and verifies
+ * a BCrypt hash on the bounded hashing pool, as in production. The score is requests per second. With logins in the
+ * mix the hashing pool, not the request threads, caps throughput on small machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS_PER_BURST = 2_000;
+    private static final long READ_LATENCY_MILLIS = 10;
+    private static final long LOGIN_LATENCY_MILLIS = 5;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    public enum Threads { PLATFORM, VIRTUAL }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private Threads threads;
+
+    @Param({"0", "10"})
+    private int loginPercent;
+
+    private ExecutorService executor;
+    private BoundedPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private UUID tenantId;
+
+    @Setup
+    public void setUp() {
+        executor = threads == Threads.PLATFORM
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        passwordEncoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(4), Runtime.getRuntime().availableProcessors(), REQUESTS_PER_BURST, new SimpleMeterRegistry()
+        );
+        passwordHash = passwordEncoder.encode("password");
+        tenantId = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+        passwordEncoder.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS_PER_BURST)
+    public void mixedReadAndLogin(Blackhole blackhole) throws Exception {
+        List<Future<?>> requests = new ArrayList<>(REQUESTS_PER_BURST);
+        for (int i = 0; i < REQUESTS_PER_BURST; i++) {
+            requests.add(executor.submit(i % 100 < loginPercent ? this::login : this::read));
+        }
+        for (Future<?> request : requests) {
+            blackhole.consume(request.get());
+        }
+    }
+
+    private Object read() throws InterruptedException {
+        return TenantContext.callAsTenant(tenantId, () -> {
+            Thread.sleep(READ_LATENCY_MILLIS);
+            return TenantContext.getTenantId();
+        });
+    }
+
+    private Object login() throws InterruptedException {
+        return TenantContext.callAsTenant(tenantId, () -> {
+            Thread.sleep(LOGIN_LATENCY_MILLIS);
+            return passwordEncoder.matches("password", passwordHash);
+        });
+    }
+}
@@ -1,15 +1,96 @@
 package org.droid.zero.multitenantaipayrollsystem.client.redis;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class RedisCacheClient {
 
+    public static final String TOKEN_REVOCATION_CHANNEL = "token_revocations";
+    public static final String TENANT_INVALIDATION_CHANNEL = "tenant_invalidations";
+
+    private static final String BLACKLIST_PREFIX = "blacklist:";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final String LOGIN_ATTEMPTS_PREFIX = "login_attempts:";
+    private static final String QUOTA_PREFIX = "quota:";
+    private static final String REFRESH_TOKEN_PREFIX = "refresh_token:";
+    private static final String REFRESH_FAMILY_PREFIX = "refresh_family:";
+
+    // KEYS: presented token record, new token record, family. ARGV: presented hash, new hash.
+    // All three keys share the family id as hash tag, so they live in the same Redis Cluster slot.
+    // Old records are kept until they expire, so presenting one again is recognised as reuse and kills the family.
+    // The new record inherits the remaining lifetime of the family, which therefore never outlives the login.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_REFRESH_TOKEN_SCRIPT = new DefaultRedisScript<>("""
+            local record = redis.call('HGETALL', KEYS[1])
+            if #record == 0 then
+                return {'invalid'}
+            end
+            local family_id
+            for i = 1, #record, 2 do
+                if record[i] == 'familyId' then family_id = record[i + 1] end
+            end
+            local current = redis.call('GET', KEYS[3])
+            if not current then
+                return {'invalid'}
+            end
+            if current ~= ARGV[1] then
+                redis.call('DEL', KEYS[3])
+                return {'reused', family_id}
+            end
+            local ttl = redis.call('PTTL', KEYS[3])
+            if ttl <= 0 then
+                return {'invalid'}
+            end
+            redis.call('HSET', KEYS[2], unpack(record))
+            redis.call('PEXPIRE', KEYS[2], ttl)
+            redis.call('SET', KEYS[3], ARGV[2], 'KEEPTTL')
+            return {'rotated', unpack(record)}
+            """, List.class);
+
+    // KEYS: one sorted set per window. ARGV: now, window, member, then one limit per key (0 = not limited).
+    // Trims each window, and only when every window has room records the attempt in all of them.
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local retry_after = 0
+            for i, key in ipairs(KEYS) do
+                local limit = tonumber(ARGV[3 + i])
+                if limit > 0 then
+                    redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+                    if redis.call('ZCARD', key) >= limit then
+                        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                        retry_after = math.max(retry_after, tonumber(oldest[2]) + window - now)
+                    end
+                end
+            end
+            if retry_after > 0 then
+                return retry_after
+            end
+            for i, key in ipairs(KEYS) do
+                if tonumber(ARGV[3 + i]) > 0 then
+                    redis.call('ZADD', key, now, ARGV[3])
+                    redis.call('PEXPIRE', key, window)
+                end
+            end
+            return 0
+            """, Long.class);
+
     private final StringRedisTemplate redis;
 
     public void set(String key, String value, long timeOut, TimeUnit timeUnit) {
@@ -24,27 +105,165 @@ public class RedisCacheClient {
         this.redis.delete(key);
     }
 
-    public void blacklistToken(String jwt, long ttlMillis) {
-        redis.opsForValue().set("blacklist:" + jwt, "1", ttlMillis, TimeUnit.MILLISECONDS);
+    /**
+     * Stores a revoked token id until the token would have expired anyway. The value is the expiry
+     * timestamp, so nodes rebuilding their revocation cache can tell how long to keep each entry.
+     */
+    public void blacklistToken(String tokenId, long ttlMillis) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        redis.opsForValue().set(BLACKLIST_PREFIX + tokenId, Long.toString(expiresAt), ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isTokenBlacklisted(String tokenId) {
+        return redis.hasKey(BLACKLIST_PREFIX + tokenId);
+    }
+
+    /**
+     * Returns every revoked token id still held in Redis, mapped to its stored value.
+     * Uses SCAN and batched MGETs so that Redis is never blocked by a single large command.
+     */
+    public Map<String, String> scanBlacklist() {
+        Map<String, String> entries = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redis.scan(options)) {
+            List<String> keys = new ArrayList<>(SCAN_BATCH_SIZE);
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == SCAN_BATCH_SIZE) {
+                    collectBlacklistValues(keys, entries);
+                    keys.clear();
+                }
+            }
+            collectBlacklistValues(keys, entries);
+        }
+        return entries;
+    }
+
+    private void collectBlacklistValues(List<String> keys, Map<String, String> entries) {
+        if (keys.isEmpty()) return;
+        List<String> values = redis.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            // Skip keys that expired between the scan and the read
+            if (value != null) entries.put(keys.get(i).substring(BLACKLIST_PREFIX.length()), value);
+        }
+    }
+
+    /**
+     * Adds each node-local quota usage to its cluster-wide counter in a single pipelined round trip.
+     *
+     * @return the counter values after the increments, in the same order as {@code keys}
+     */
+    public List<Long> addQuotaUsage(List<String> keys, List<Long> deltas, long ttlMillis) {
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] key = (QUOTA_PREFIX + keys.get(i)).getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().incrBy(key, deltas.get(i));
+                connection.keyCommands().pExpire(key, ttlMillis);
+            }
+            return null;
+        });
+
+        List<Long> totals = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            totals.add((Long) results.get(i * 2));
+        }
+        return totals;
+    }
+
+    /**
+     * Stores a refresh token record under the SHA-256 hash of the token and makes it the current token of its family.
+     */
+    public void storeRefreshToken(String familyId, String tokenHash, Map<String, String> fields, long ttlMillis) {
+        String key = refreshTokenKey(familyId, tokenHash);
+        redis.opsForHash().putAll(key, fields);
+        redis.expire(key, ttlMillis, TimeUnit.MILLISECONDS);
+        redis.opsForValue().set(refreshFamilyKey(familyId), tokenHash, ttlMillis, TimeUnit.MILLISECONDS);
     }
 
-    public boolean isTokenBlacklisted(String jwt) {
-        return redis.hasKey("blacklist:" + jwt);
+    /**
+     * Atomically swaps the presented refresh token for a new one within its family.
+     * The first element of the result is {@code rotated} (followed by the record's field/value pairs),
+     * {@code reused} (followed by the family id, which has then been revoked) or {@code invalid}.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> rotateRefreshToken(String familyId, String presentedHash, String newHash) {
+        return redis.execute(
+                ROTATE_REFRESH_TOKEN_SCRIPT,
+                List.of(refreshTokenKey(familyId, presentedHash), refreshTokenKey(familyId, newHash), refreshFamilyKey(familyId)),
+                presentedHash,
+                newHash
+        );
     }
 
-    public boolean isRateLimitExceeded(String email, String tenantId){
-        //First, get the number of login attempts in redis
-        String value = this.get("login_attempts:" + email + ":" + tenantId);
+    public void revokeRefreshTokenFamily(String familyId) {
+        this.delete(refreshFamilyKey(familyId));
+    }
+
+    private static String refreshTokenKey(String familyId, String tokenHash) {
+        return REFRESH_TOKEN_PREFIX + "{" + familyId + "}:" + tokenHash;
+    }
+
+    private static String refreshFamilyKey(String familyId) {
+        return REFRESH_FAMILY_PREFIX + "{" + familyId + "}";
+    }
+
+    public void publish(String channel, String message) {
+        redis.convertAndSend(channel, message);
+    }
 
-        //If it doesn't exist, initialize the attempts to zero
-        int attempts = value == null ? 0 : Integer.parseInt(value);
-        attempts++; //Increase the number of attempts
+    public long getSecurityStamp(UUID userId) {
+        String value = this.get("security_stamp:" + userId);
+        return value == null ? 0 : Long.parseLong(value);
+    }
 
-        //If exceeded maximum (5 attempts) then it is rate limited
-        if(attempts > 5) return true;
+    public long incrementSecurityStamp(UUID userId) {
+        Long value = redis.opsForValue().increment("security_stamp:" + userId);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Records a login attempt against a sliding window per account (email and tenant) and per client IP,
+     * atomically and in a single round trip. Rejected attempts are not recorded.
+     *
+     * @param attemptId identifies the attempt in both windows, so {@link #resetLoginAttempts} can take it back
+     * @return {@code 0} if the attempt is allowed, otherwise the milliseconds until the next attempt can succeed
+     */
+    public long recordLoginAttempt(
+            String attemptId,
+            String email,
+            String tenantId,
+            String clientIp,
+            int maxPerAccount,
+            int maxPerIp,
+            long windowMillis
+    ) {
+        Long retryAfter = redis.execute(
+                SLIDING_WINDOW_SCRIPT,
+                List.of(loginAttemptsKey(email, tenantId), loginAttemptsIpKey(clientIp)),
+                Long.toString(System.currentTimeMillis()),
+                Long.toString(windowMillis),
+                attemptId,
+                Integer.toString(email == null ? 0 : maxPerAccount),
+                Integer.toString(clientIp == null ? 0 : maxPerIp)
+        );
+        return retryAfter == null ? 0 : retryAfter;
+    }
+
+    /**
+     * Clears the account window after a successful login and takes the attempt back from the client IP window, so
+     * only failed attempts count against an address that many users share.
+     */
+    public void resetLoginAttempts(String attemptId, String email, String tenantId, String clientIp) {
+        this.delete(loginAttemptsKey(email, tenantId));
+        if (clientIp != null) redis.opsForZSet().remove(loginAttemptsIpKey(clientIp), attemptId);
+    }
+
+    private static String loginAttemptsKey(String email, String tenantId) {
+        return LOGIN_ATTEMPTS_PREFIX + (email == null ? "" : email.toLowerCase()) + ":" + tenantId;
+    }
 
-        //If not, record the attempt
-        redis.opsForValue().set("login_attempts:" + email + ":" + tenantId, Integer.toString(attempts), 15, TimeUnit.MINUTES);
-        return false;
+    private static String loginAttemptsIpKey(String clientIp) {
+        return LOGIN_ATTEMPTS_PREFIX + "ip:" + clientIp;
     }
 }
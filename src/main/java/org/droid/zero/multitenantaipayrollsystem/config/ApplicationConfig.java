@@ -1,9 +1,15 @@
 package org.droid.zero.multitenantaipayrollsystem.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.repository.UserCredentialsRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
+import org.droid.zero.multitenantaipayrollsystem.security.crypto.BoundedPasswordEncoder;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -12,6 +18,7 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -25,9 +32,26 @@ import java.util.UUID;
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final UserCredentialsRepository credentialsRepository;
+    private final ReadReplicaRouter readReplicaRouter;
 
-    public ApplicationConfig(@Lazy UserRepository userRepository) {
+    @Value("${auth.password.bcrypt.min-strength:10}")
+    private int minBcryptStrength;
+    @Value("${auth.password.bcrypt.max-strength:14}")
+    private int maxBcryptStrength;
+    @Value("${auth.password.bcrypt.target-millis:250}")
+    private long bcryptTargetMillis;
+    @Value("${auth.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    public ApplicationConfig(
+            @Lazy UserRepository userRepository,
+            @Lazy UserCredentialsRepository credentialsRepository,
+            ReadReplicaRouter readReplicaRouter
+    ) {
         this.userRepository = userRepository;
+        this.credentialsRepository = credentialsRepository;
+        this.readReplicaRouter = readReplicaRouter;
     }
 
     @Bean
@@ -36,12 +60,29 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider daoAuthenticationProvider() {
+    public AuthenticationProvider daoAuthenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
+    /**
+     * Stores the rehashed password when a successful login used a hash weaker than the calibrated strength.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            credentialsRepository.findByUserId(user.getId()).ifPresent(credentials -> {
+                credentials.hashPassword(newPassword);
+                credentialsRepository.save(credentials);
+                log.debug("upgraded password hash of user {}", user.getId());
+            });
+            return userDetails;
+        };
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
@@ -52,8 +93,8 @@ public class ApplicationConfig {
                 log.debug("username: {}", username);
                 log.debug("tenantId: {}", tenantId);
 
-                //Find the user using the user service, throw an exception if not found
-                User user = userRepository.findByUserCredentials_EmailIgnoreCase_AndUserTenantRoles_TenantId(username, tenantId)
+                //Find the user on the primary, so a user created a moment ago can sign in, throw an exception if not found
+                User user = readReplicaRouter.callOnPrimary(() -> userRepository.findByUserCredentials_EmailIgnoreCase_AndUserTenantRoles_TenantId(username, tenantId))
                         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
                 log.debug("userId: {}", user.getId());
@@ -62,7 +103,6 @@ public class ApplicationConfig {
                 if (!user.isEnabled()) throw new UsernameNotFoundException("Account is disabled");
 
                 user.loadActiveRoles();
-                user.getUserCredentials().auditLogin();
 
                 return user;
             } catch (Exception e) {
@@ -72,7 +112,17 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int strength = BoundedPasswordEncoder.calibrateStrength(minBcryptStrength, maxBcryptStrength, bcryptTargetMillis);
+        Gauge.builder("auth.password.bcrypt.strength", () -> strength)
+                .description("BCrypt cost factor chosen at startup")
+                .register(meterRegistry);
+
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                Runtime.getRuntime().availableProcessors(),
+                hashingQueueCapacity,
+                meterRegistry
+        );
     }
 }
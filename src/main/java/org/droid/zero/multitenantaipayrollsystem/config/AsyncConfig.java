@@ -0,0 +1,26 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Runs {@code @Async} methods on Spring Boot's application task executor, sized by {@code spring.task.execution}.
+ * Boot applies the decorator below to that executor, so an async task sees the tenant and security context of
+ * the code that submitted it.
+ * <p>
+ * Disabled with {@code async.enabled=false}, in which case {@code @Async} methods run on the caller's thread.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnProperty(name = "async.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator tenantContextTaskDecorator() {
+        return TenantContext::wrap;
+    }
+}
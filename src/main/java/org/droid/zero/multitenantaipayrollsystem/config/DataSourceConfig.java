@@ -0,0 +1,90 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRoutingDataSource;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReplicaLagMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Spring Boot's data source with one that sends read-only transactions to a read replica, as decided by
+ * the {@link ReadReplicaRouter}. The primary pool is still configured through {@code spring.datasource}, the
+ * replica through {@code datasource.replica}.
+ * <p>
+ * Enabled with {@code datasource.replica.enabled=true}; otherwise Boot's single data source is left in place.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            DataSourceProperties properties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails
+    ) {
+        // Service connections (Docker Compose, Testcontainers) take precedence over the properties, as they do in Boot
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        HikariDataSource dataSource = details == null
+                ? properties.initializeDataSourceBuilder().type(HikariDataSource.class).build()
+                : DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(details.getJdbcUrl())
+                        .username(details.getUsername())
+                        .password(details.getPassword())
+                        .driverClassName(details.getDriverClassName())
+                        .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username}") String username,
+            @Value("${datasource.replica.password}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            ReadReplicaRouter readReplicaRouter,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        return new ReadReplicaRoutingDataSource(readReplicaRouter, replicaLagMonitor, primaryDataSource, replicaDataSource);
+    }
+}
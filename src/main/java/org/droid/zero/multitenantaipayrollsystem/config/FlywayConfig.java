@@ -0,0 +1,21 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantSchemaMigrator;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migrates the dedicated tenant schemas right after the shared one, before the persistence layer starts.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy tenantSchemasMigrationStrategy(TenantSchemaMigrator tenantSchemaMigrator) {
+        return flyway -> {
+            flyway.migrate();
+            tenantSchemaMigrator.migrateAll();
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.RevokedTokenRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient.TENANT_INVALIDATION_CHANNEL;
+import static org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient.TOKEN_REVOCATION_CHANNEL;
+
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RevokedTokenRegistry revokedTokenRegistry,
+            TenantRegistry tenantRegistry
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(revokedTokenRegistry, new ChannelTopic(TOKEN_REVOCATION_CHANNEL));
+        container.addMessageListener(tenantRegistry, new ChannelTopic(TENANT_INVALIDATION_CHANNEL));
+        return container;
+    }
+}
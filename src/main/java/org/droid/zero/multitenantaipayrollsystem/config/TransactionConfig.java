@@ -0,0 +1,29 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import org.droid.zero.multitenantaipayrollsystem.system.bulkhead.TenantBulkhead;
+import org.droid.zero.multitenantaipayrollsystem.system.bulkhead.TenantBulkheadTransactionManager;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Replaces Spring Boot's JPA transaction manager with one that enforces the per-tenant {@link TenantBulkhead} and
+ * lets the {@link ReadReplicaRouter} send read-only transactions to the replica.
+ */
+@Configuration
+public class TransactionConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            TenantBulkhead tenantBulkhead,
+            ReadReplicaRouter readReplicaRouter,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers
+    ) {
+        TenantBulkheadTransactionManager transactionManager = new TenantBulkheadTransactionManager(tenantBulkhead, readReplicaRouter);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
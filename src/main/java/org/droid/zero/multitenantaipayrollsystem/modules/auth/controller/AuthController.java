@@ -1,8 +1,11 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.auth.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.AuthTokenDto;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.RefreshTokenRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.SwitchTenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.AuthService;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +29,27 @@ public class AuthController {
         );
     }
 
+    @PostMapping("/refresh")
+    @ResponseStatus(CREATED)
+    public ResponseFactory<AuthTokenDto> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseFactory.success(
+                "Renewed JSON Web Token",
+                this.authService.refreshToken(request)
+        );
+    }
+
+    @PostMapping("/switch-tenant")
+    @ResponseStatus(CREATED)
+    public ResponseFactory<AuthTokenDto> switchTenant(
+            @Valid @RequestBody SwitchTenantRequest switchRequest,
+            HttpServletRequest request
+    ) {
+        return ResponseFactory.success(
+                "JSON Web Token for the selected tenant",
+                this.authService.switchTenant(switchRequest, request)
+        );
+    }
+
     @DeleteMapping("/logout")
     @ResponseStatus(OK)
     public ResponseFactory<AuthTokenDto> logout(HttpServletRequest request) {
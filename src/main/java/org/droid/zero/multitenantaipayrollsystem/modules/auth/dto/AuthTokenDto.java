@@ -1,5 +1,6 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.auth.dto;
 
 public record AuthTokenDto(
-        String token
+        String token,
+        String refreshToken
 ) {}
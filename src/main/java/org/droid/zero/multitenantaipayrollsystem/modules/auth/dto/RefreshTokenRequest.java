@@ -0,0 +1,9 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "refreshToken is required")
+        String refreshToken
+) {
+}
@@ -0,0 +1,11 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record SwitchTenantRequest(
+        @NotNull(message = "tenantId is required")
+        UUID tenantId
+) {
+}
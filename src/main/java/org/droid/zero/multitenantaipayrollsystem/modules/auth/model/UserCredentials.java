@@ -7,12 +7,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseModel;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "user_credentials")
+@BatchSize(size = 100)
 @Getter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
@@ -26,7 +28,8 @@ public class UserCredentials extends BaseModel {
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
-    @Column(name = "last_login_at")
+    // Written in batches by LoginAuditBuffer, never through the entity, so logins do not bump the version
+    @Column(name = "last_login_at", insertable = false, updatable = false)
     private Instant lastLoginAt;
 
     @MapsId
@@ -54,10 +57,6 @@ public class UserCredentials extends BaseModel {
         this.user = user;
     }
 
-    public void auditLogin() {
-        this.lastLoginAt = Instant.now();
-    }
-
     public void hashPassword(String password) {
         this.passwordHash = password;
     }
@@ -4,6 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.AuthTokenDto;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangeEmailRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangePasswordRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.RefreshTokenRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.SwitchTenantRequest;
 
 import java.util.UUID;
 
@@ -15,5 +17,9 @@ public interface AuthService {
 
     AuthTokenDto createToken(HttpServletRequest request);
 
+    AuthTokenDto refreshToken(RefreshTokenRequest request);
+
+    AuthTokenDto switchTenant(SwitchTenantRequest switchRequest, HttpServletRequest request);
+
     void invalidateToken(HttpServletRequest request);
 }
@@ -5,13 +5,20 @@ import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.AuthTokenDto;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangeEmailRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangePasswordRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.RefreshTokenRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.SwitchTenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.model.UserCredentials;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.repository.UserCredentialsRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.service.TenantMembershipIndex;
 import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseService;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
 import org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.Authentication;
@@ -19,8 +26,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.TENANT;
 import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.USER;
 import static org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils.extractJwt;
 
@@ -31,6 +41,10 @@ public class AuthServiceImpl extends BaseService implements AuthService {
     private final UserCredentialsRepository credentialsRepository;
     private final TokenService tokenService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginAuditBuffer loginAuditBuffer;
+    private final RefreshTokenService refreshTokenService;
+    private final TenantMembershipIndex membershipIndex;
 
     @Transactional
     @Override
@@ -44,6 +58,9 @@ public class AuthServiceImpl extends BaseService implements AuthService {
 
         //Update the contactEmail
         credentials.changeEmail(request.email());
+
+        //Revoke the tokens issued for the old email
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
     }
 
     @Transactional
@@ -65,6 +82,9 @@ public class AuthServiceImpl extends BaseService implements AuthService {
 
         //Update the password
         credentials.changePassword(passwordEncoder.encode(newPassword));
+
+        //Revoke the tokens issued with the old password
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
     }
 
     @Transactional
@@ -76,10 +96,66 @@ public class AuthServiceImpl extends BaseService implements AuthService {
         String tenantId = HeaderUtils.extractTenantId(request);
         if (tenantId == null || tenantId.isBlank()) throw new IllegalArgumentException("tenant is required");
 
-        // Create jwt
-        String token = tokenService.generateToken(authentication, tenantId);
+        // Create jwt, and the refresh token family it belongs to
+        String sessionId = UUID.randomUUID().toString();
+        String token = tokenService.generateToken(authentication, tenantId, sessionId);
+        String refreshToken = refreshTokenService.issue(authentication, tenantId, sessionId);
+
+        // Audit the login in the background
+        User user = getCurrentUser();
+        if (user != null) loginAuditBuffer.record(user.getId(), UUID.fromString(tenantId), request.getRemoteAddr());
+
+        return new AuthTokenDto(token, refreshToken);
+    }
+
+    @Override
+    public AuthTokenDto refreshToken(RefreshTokenRequest request) {
+        //Rotate the refresh token, this fails if it was already used or revoked
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate(request.refreshToken());
+
+        //Issue the access token from the stored claims, without loading the user or checking the password
+        String token = tokenService.generateToken(
+                rotated.userId(),
+                rotated.username(),
+                rotated.roles(),
+                rotated.tenantId(),
+                rotated.familyId()
+        );
+
+        return new AuthTokenDto(token, rotated.refreshToken());
+    }
+
+    @Override
+    public AuthTokenDto switchTenant(SwitchTenantRequest switchRequest, HttpServletRequest request) {
+        //Reuse the token verified by the filter chain
+        VerifiedToken verifiedToken = tokenService.resolveToken(request);
+        if (verifiedToken == null) throw new BadCredentialsException("Invalid token.");
+
+        //Get the user principal
+        User user = getCurrentUser();
+        if (user == null) throw new InsufficientAuthenticationException("User is not authenticated.");
+
+        UUID tenantId = switchRequest.tenantId();
+        if (tenantId.toString().equals(verifiedToken.tenantId())) throw new IllegalArgumentException("tenant is already active");
+
+        //Verify that the user belongs to the requested tenant
+        Set<UserRole> roles = membershipIndex.rolesFor(user.getId(), tenantId);
+        if (roles.isEmpty()) throw new ObjectNotFoundException(TENANT, tenantId);
 
-        return new AuthTokenDto(token);
+        String authorities = roles.stream()
+                .map(role -> "ROLE_" + role.value())
+                .collect(Collectors.joining(","));
+
+        //Issue the tokens for the new tenant under a new session
+        String sessionId = UUID.randomUUID().toString();
+        String token = tokenService.generateToken(user.getId(), verifiedToken.username(), authorities, tenantId.toString(), sessionId);
+        String refreshToken = refreshTokenService.issue(user.getId(), verifiedToken.username(), authorities, tenantId.toString(), sessionId);
+
+        //Retire the token and refresh tokens of the previous tenant
+        tokenService.blacklistToken(verifiedToken, user);
+        if (verifiedToken.sessionId() != null) refreshTokenService.revokeFamily(verifiedToken.sessionId());
+
+        return new AuthTokenDto(token, refreshToken);
     }
 
     @Transactional
@@ -91,13 +167,19 @@ public class AuthServiceImpl extends BaseService implements AuthService {
         //If there is no token, then throw an exception
         if (token == null || token.isBlank()) throw new BadCredentialsException("Invalid token.");
 
+        //Reuse the token verified by the filter chain
+        VerifiedToken verifiedToken = tokenService.resolveToken(request);
+
         //Get the user principal
         User user = getCurrentUser();
 
         if (user == null) throw new InsufficientAuthenticationException("User is not authenticated.");
 
         //Validate the token and blacklist it
-        tokenService.blacklistToken(token, user);
+        tokenService.blacklistToken(verifiedToken, user);
+
+        //Revoke the refresh tokens of this login
+        if (verifiedToken.sessionId() != null) refreshTokenService.revokeFamily(verifiedToken.sessionId());
 
         //Invalidate the session
         invalidateSession();
@@ -0,0 +1,165 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects successful logins in memory and writes them to the database in batches on a schedule,
+ * so that issuing a token never waits on an audit write.
+ * <p>
+ * Only the latest login per user is kept for {@code user_credentials.last_login_at}, while every login is
+ * appended to {@code login_history}. The history queue is bounded; logins arriving while it is full are
+ * dropped and counted rather than growing the heap. Pending entries are lost if the node crashes before
+ * the next flush.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginAuditBuffer {
+
+    private static final String UPDATE_LAST_LOGIN_SQL = """
+            UPDATE user_credentials
+               SET last_login_at = ?
+             WHERE id = ?
+               AND (last_login_at IS NULL OR last_login_at < ?)
+            """;
+
+    private static final String INSERT_LOGIN_HISTORY_SQL = """
+            INSERT INTO login_history (id, user_id, tenant_id, logged_in_at, remote_address)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.login-audit.max-history-buffer:10000}")
+    private int maxHistoryBuffer;
+
+    private final Map<UUID, LoginEvent> latestLogins = new ConcurrentHashMap<>();
+    private final Queue<LoginEvent> history = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger historySize = new AtomicInteger();
+
+    private Timer flushTimer;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("auth.login.audit.buffer.depth", latestLogins, Map::size)
+                .description("Users with a last-login timestamp waiting to be flushed")
+                .tag("buffer", "last_login")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.audit.buffer.depth", historySize, AtomicInteger::get)
+                .description("Login history rows waiting to be flushed")
+                .tag("buffer", "history")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("auth.login.audit.flush")
+                .description("Time spent writing buffered login audit entries to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("auth.login.audit.dropped")
+                .description("Login history entries dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID userId, UUID tenantId, String remoteAddress) {
+        if (userId == null) return;
+
+        LoginEvent event = new LoginEvent(userId, tenantId, Instant.now(), remoteAddress);
+        latestLogins.merge(userId, event, LoginEvent::latest);
+
+        if (historySize.incrementAndGet() > maxHistoryBuffer) {
+            historySize.decrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        history.add(event);
+    }
+
+    @Scheduled(
+            initialDelayString = "${auth.login-audit.flush-interval-millis:5000}",
+            fixedDelayString = "${auth.login-audit.flush-interval-millis:5000}"
+    )
+    public void flush() {
+        if (latestLogins.isEmpty() && history.isEmpty()) return;
+        flushTimer.record(() -> {
+            flushLastLogins();
+            flushHistory();
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushLastLogins() {
+        List<LoginEvent> batch = new ArrayList<>(latestLogins.size());
+        for (UUID userId : latestLogins.keySet()) {
+            LoginEvent event = latestLogins.remove(userId);
+            if (event != null) batch.add(event);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch, batch.size(), (ps, event) -> {
+                Timestamp loggedInAt = Timestamp.from(event.loggedInAt());
+                ps.setTimestamp(1, loggedInAt);
+                ps.setObject(2, event.userId());
+                ps.setTimestamp(3, loggedInAt);
+            });
+        } catch (RuntimeException e) {
+            // Put the entries back unless a newer login for the same user arrived meanwhile
+            batch.forEach(event -> latestLogins.merge(event.userId(), event, LoginEvent::latest));
+            log.warn("failed to flush {} last-login entries, will retry", batch.size(), e);
+        }
+    }
+
+    private void flushHistory() {
+        List<LoginEvent> batch = new ArrayList<>();
+        LoginEvent event;
+        while ((event = history.poll()) != null) {
+            historySize.decrementAndGet();
+            batch.add(event);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_LOGIN_HISTORY_SQL, batch, batch.size(), (ps, login) -> {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, login.userId());
+                ps.setObject(3, login.tenantId());
+                ps.setTimestamp(4, Timestamp.from(login.loggedInAt()));
+                ps.setString(5, login.remoteAddress());
+            });
+        } catch (RuntimeException e) {
+            droppedCounter.increment(batch.size());
+            log.warn("failed to flush {} login history entries, dropping them", batch.size(), e);
+        }
+    }
+
+    record LoginEvent(UUID userId, UUID tenantId, Instant loggedInAt, String remoteAddress) {
+        static LoginEvent latest(LoginEvent a, LoginEvent b) {
+            return a.loggedInAt().isAfter(b.loggedInAt()) ? a : b;
+        }
+    }
+}
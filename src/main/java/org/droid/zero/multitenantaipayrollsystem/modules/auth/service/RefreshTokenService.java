@@ -0,0 +1,165 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.SecurityStampService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens, so renewing an access token costs a Redis lookup instead of
+ * a password hash.
+ * <p>
+ * Only the SHA-256 hash of a token is stored. All tokens issued from one login form a family, and only the
+ * newest token of a family is accepted. Presenting an older one means the token leaked, so the whole
+ * family is revoked. A family is also invalidated when the user's security stamp changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final char TOKEN_SEPARATOR = '.';
+
+    private final RedisCacheClient redisCacheClient;
+    private final TokenService tokenService;
+    private final SecurityStampService securityStampService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.refresh-token.expiration.milliseconds:604800000}")
+    private long refreshTokenExpirationMillis;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private Counter reuseCounter;
+
+    @PostConstruct
+    void init() {
+        this.reuseCounter = Counter.builder("auth.refresh.reuse.detected")
+                .description("Refresh tokens presented after they had already been rotated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a new refresh token family for a successful login.
+     *
+     * @param familyId also embedded in the access tokens of this login as their {@code sid}
+     */
+    public String issue(Authentication authentication, String tenantId, String familyId) {
+        UUID userId = ((User) authentication.getPrincipal()).getId();
+        return issue(userId, authentication.getName(), tokenService.rolesOf(authentication), tenantId, familyId);
+    }
+
+    /**
+     * Starts a new refresh token family from already-known claims, e.g. after switching tenants.
+     */
+    public String issue(UUID userId, String username, String roles, String tenantId, String familyId) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("userId", userId.toString());
+        fields.put("username", username);
+        fields.put("roles", roles);
+        fields.put("tenantId", tenantId);
+        fields.put("familyId", familyId);
+        fields.put("stamp", Long.toString(securityStampService.currentStamp(userId)));
+
+        String token = newToken(familyId);
+        redisCacheClient.storeRefreshToken(familyId, hash(token), fields, refreshTokenExpirationMillis);
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for the next one of its family.
+     *
+     * @throws BadCredentialsException if the token is unknown, expired, revoked or was already used
+     */
+    public RotatedRefreshToken rotate(String refreshToken) {
+        String familyId = familyIdOf(refreshToken);
+        if (familyId == null) throw new BadCredentialsException("Invalid refresh token.");
+
+        String newToken = newToken(familyId);
+        List<String> result = redisCacheClient.rotateRefreshToken(familyId, hash(refreshToken), hash(newToken));
+
+        String status = result == null || result.isEmpty() ? "invalid" : result.getFirst();
+        if ("reused".equals(status)) {
+            reuseCounter.increment();
+            log.warn("refresh token reuse detected, revoked token family {}", result.get(1));
+            throw new BadCredentialsException("Refresh token has already been used.");
+        }
+        if (!"rotated".equals(status)) throw new BadCredentialsException("Invalid refresh token.");
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            fields.put(result.get(i), result.get(i + 1));
+        }
+
+        UUID userId = UUID.fromString(fields.get("userId"));
+        if (securityStampService.currentStamp(userId) != Long.parseLong(fields.get("stamp"))) {
+            // Credentials changed since this login, so its refresh tokens must not outlive it
+            redisCacheClient.revokeRefreshTokenFamily(fields.get("familyId"));
+            throw new BadCredentialsException("Invalid refresh token.");
+        }
+
+        return new RotatedRefreshToken(
+                newToken,
+                userId,
+                fields.get("username"),
+                fields.get("roles"),
+                fields.get("tenantId"),
+                fields.get("familyId")
+        );
+    }
+
+    public void revokeFamily(String familyId) {
+        redisCacheClient.revokeRefreshTokenFamily(familyId);
+    }
+
+    // The family id travels in the token, so the family's Redis keys are known before the token is looked up
+    private String newToken(String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return familyId + TOKEN_SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String familyIdOf(String token) {
+        int separator = token == null ? -1 : token.indexOf(TOKEN_SEPARATOR);
+        return separator > 0 ? token.substring(0, separator) : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record RotatedRefreshToken(
+            String refreshToken,
+            UUID userId,
+            String username,
+            String roles,
+            String tenantId,
+            String familyId
+    ) {}
+}
@@ -6,9 +6,11 @@ import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.Departme
 import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.service.DepartmentService;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.CREATED;
@@ -20,6 +22,14 @@ import static org.springframework.http.HttpStatus.OK;
 public class DepartmentController {
     private final DepartmentService departmentService;
 
+    @GetMapping("/search")
+    @ResponseStatus(OK)
+    public ResponseFactory<List<DepartmentResponse>> searchDepartments(@Valid SearchRequest request) {
+        return ResponseFactory.success(
+                "Search Success",
+                departmentService.search(request));
+    }
+
     @GetMapping("/{departmentId}")
     @ResponseStatus(OK)
     public ResponseFactory<DepartmentResponse> findDepartment(
@@ -1,13 +1,30 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.department.repository;
 
+import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.model.Department;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, UUID> {
 
     boolean existsByNameIgnoreCase(String name);
+
+    // Builds the response in the query, without loading the entity or running its listeners
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse(d.id, d.name, d.description, d.active) " +
+            "FROM Department d WHERE d.id = :id")
+    Optional<DepartmentResponse> findResponseById(UUID id);
+
+    @Query("SELECT d FROM Department d " +
+            "WHERE lower(d.name) LIKE :pattern ESCAPE '\\' OR trgm_match(lower(d.name), :term) = true " +
+            "ORDER BY similarity(lower(d.name), :term) DESC, d.id")
+    List<Department> search(String term, String pattern, Limit limit);
 }
\ No newline at end of file
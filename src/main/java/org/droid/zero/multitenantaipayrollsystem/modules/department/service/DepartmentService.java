@@ -2,13 +2,17 @@ package org.droid.zero.multitenantaipayrollsystem.modules.department.service;
 
 import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface DepartmentService  {
 
     DepartmentResponse findById(UUID departmentId);
 
+    List<DepartmentResponse> search(SearchRequest request);
+
     DepartmentResponse save(DepartmentRequest request);
 
     DepartmentResponse update(DepartmentRequest request, UUID departmentId);
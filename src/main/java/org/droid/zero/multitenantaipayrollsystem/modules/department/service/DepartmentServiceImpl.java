@@ -7,12 +7,15 @@ import org.droid.zero.multitenantaipayrollsystem.modules.department.mapper.Depar
 import org.droid.zero.multitenantaipayrollsystem.modules.department.model.Department;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseService;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.droid.zero.multitenantaipayrollsystem.system.util.FieldDuplicateValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.DEPARTMENT;
@@ -24,14 +27,22 @@ public class DepartmentServiceImpl extends BaseService implements DepartmentServ
 
     private final DepartmentRepository departmentRepository;
     private final DepartmentMapper departmentMapper;
+    private final SingleFlight singleFlight;
 
-    @Transactional
+    // Not transactional: concurrent reads of the same department share one load, and those waiting on it
+    // should not hold a transaction of their own
     @Override
     public DepartmentResponse findById(UUID departmentId) {
-        Department requestedDepartment = this.departmentRepository.findById(departmentId)
-                .orElseThrow(()-> new ObjectNotFoundException(DEPARTMENT, departmentId));
+        return singleFlight.execute(DEPARTMENT, departmentId, () -> this.departmentRepository.findResponseById(departmentId)
+                .orElseThrow(()-> new ObjectNotFoundException(DEPARTMENT, departmentId)));
+    }
 
-        return this.departmentMapper.toResponse(requestedDepartment);
+    @Transactional(readOnly = true)
+    @Override
+    public List<DepartmentResponse> search(SearchRequest request) {
+        return this.departmentRepository.search(request.term(), request.containsPattern(), request.resultLimit()).stream()
+                .map(departmentMapper::toResponse)
+                .toList();
     }
 
     @Transactional
@@ -63,6 +74,7 @@ public class DepartmentServiceImpl extends BaseService implements DepartmentServ
                 request.name(),
                 request.description()
         );
+        singleFlight.forget(DEPARTMENT, departmentId);
 
         return this.departmentMapper.toResponse(existingDepartment);
     }
@@ -74,5 +86,6 @@ public class DepartmentServiceImpl extends BaseService implements DepartmentServ
                 .orElseThrow(()-> new ObjectNotFoundException(DEPARTMENT, departmentId));
 
         existingDepartment.toggleActiveStatus();
+        singleFlight.forget(DEPARTMENT, departmentId);
     }
 }
@@ -6,9 +6,11 @@ import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionRe
 import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.service.PositionService;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.CREATED;
@@ -20,6 +22,14 @@ import static org.springframework.http.HttpStatus.OK;
 public class PositionController {
     private final PositionService positionService;
 
+    @GetMapping("/search")
+    @ResponseStatus(OK)
+    public ResponseFactory<List<PositionResponse>> searchPositions(@Valid SearchRequest request) {
+        return ResponseFactory.success(
+                "Search Success",
+                positionService.search(request));
+    }
+
     @GetMapping("/{positionId}")
     @ResponseStatus(OK)
     public ResponseFactory<PositionResponse> findPosition(
@@ -1,13 +1,30 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.position.repository;
 
+import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.model.Position;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PositionRepository extends JpaRepository<Position, UUID> {
 
     boolean existsByTitleIgnoreCase(String title);
+
+    // Builds the response in the query, without loading the entity or running its listeners
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse(p.id, p.title, p.description, p.level, p.active) " +
+            "FROM Position p WHERE p.id = :id")
+    Optional<PositionResponse> findResponseById(UUID id);
+
+    @Query("SELECT p FROM Position p " +
+            "WHERE lower(p.title) LIKE :pattern ESCAPE '\\' OR trgm_match(lower(p.title), :term) = true " +
+            "ORDER BY similarity(lower(p.title), :term) DESC, p.id")
+    List<Position> search(String term, String pattern, Limit limit);
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package org.droid.zero.multitenantaipayrollsystem.modules.position.service;
 
 import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface PositionService {
 
     PositionResponse findById(UUID id);
 
+    List<PositionResponse> search(SearchRequest request);
+
     PositionResponse save(PositionRequest position);
 
     PositionResponse update(PositionRequest position, UUID positionId);
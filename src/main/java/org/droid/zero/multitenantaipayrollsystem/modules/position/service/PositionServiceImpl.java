@@ -7,12 +7,15 @@ import org.droid.zero.multitenantaipayrollsystem.modules.position.mapper.Positio
 import org.droid.zero.multitenantaipayrollsystem.modules.position.model.Position;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.repository.PositionRepository;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseService;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.droid.zero.multitenantaipayrollsystem.system.util.FieldDuplicateValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.POSITION;
@@ -24,14 +27,22 @@ public class PositionServiceImpl extends BaseService implements PositionService
 
     private final PositionRepository positionRepository;
     private final PositionMapper positionMapper;
+    private final SingleFlight singleFlight;
 
-    @Transactional
+    // Not transactional: concurrent reads of the same position share one load, and those waiting on it
+    // should not hold a transaction of their own
     @Override
     public PositionResponse findById(UUID positionId) {
-        Position requestedPosition = this.positionRepository.findById(positionId)
-                .orElseThrow(()-> new ObjectNotFoundException(POSITION, positionId));
+        return singleFlight.execute(POSITION, positionId, () -> this.positionRepository.findResponseById(positionId)
+                .orElseThrow(()-> new ObjectNotFoundException(POSITION, positionId)));
+    }
 
-        return this.positionMapper.toResponse(requestedPosition);
+    @Transactional(readOnly = true)
+    @Override
+    public List<PositionResponse> search(SearchRequest request) {
+        return this.positionRepository.search(request.term(), request.containsPattern(), request.resultLimit()).stream()
+                .map(positionMapper::toResponse)
+                .toList();
     }
 
     @Transactional
@@ -65,6 +76,7 @@ public class PositionServiceImpl extends BaseService implements PositionService
                 request.description(),
                 request.level()
         );
+        singleFlight.forget(POSITION, positionId);
 
         return this.positionMapper.toResponse(existingPosition);
     }
@@ -76,5 +88,6 @@ public class PositionServiceImpl extends BaseService implements PositionService
                 .orElseThrow(()-> new ObjectNotFoundException(POSITION, positionId));
 
         existingPosition.toggleActiveStatus();
+        singleFlight.forget(POSITION, positionId);
     }
 }
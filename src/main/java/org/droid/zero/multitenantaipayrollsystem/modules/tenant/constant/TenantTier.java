@@ -0,0 +1,46 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant;
+
+/**
+ * API quota tiers. Each tier sets the token bucket size (burst) and refill rate (sustained requests per second)
+ * shared by the whole tenant, the smaller bucket given to each user of that tenant, and how many database
+ * transactions the tenant may hold open at once on a node.
+ */
+public enum TenantTier {
+    FREE(40, 20, 10, 5, 2),
+    STANDARD(200, 100, 50, 25, 4),
+    ENTERPRISE(1000, 500, 200, 100, 6);
+
+    private final long tenantCapacity;
+    private final long tenantRefillPerSecond;
+    private final long userCapacity;
+    private final long userRefillPerSecond;
+    private final int maxConcurrentTransactions;
+
+    TenantTier(long tenantCapacity, long tenantRefillPerSecond, long userCapacity, long userRefillPerSecond, int maxConcurrentTransactions) {
+        this.tenantCapacity = tenantCapacity;
+        this.tenantRefillPerSecond = tenantRefillPerSecond;
+        this.userCapacity = userCapacity;
+        this.userRefillPerSecond = userRefillPerSecond;
+        this.maxConcurrentTransactions = maxConcurrentTransactions;
+    }
+
+    public long tenantCapacity() {
+        return tenantCapacity;
+    }
+
+    public long tenantRefillPerSecond() {
+        return tenantRefillPerSecond;
+    }
+
+    public long userCapacity() {
+        return userCapacity;
+    }
+
+    public long userRefillPerSecond() {
+        return userRefillPerSecond;
+    }
+
+    public int maxConcurrentTransactions() {
+        return maxConcurrentTransactions;
+    }
+}
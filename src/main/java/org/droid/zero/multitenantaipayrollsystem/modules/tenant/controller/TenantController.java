@@ -4,12 +4,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantSearchRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantStorageRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantTierRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantService;
+import org.droid.zero.multitenantaipayrollsystem.system.api.CursorPage;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,6 +24,26 @@ import java.util.UUID;
 public class TenantController {
     private final TenantService tenantService;
 
+    @GetMapping()
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseFactory<CursorPage<TenantResponse>> findAllTenants(@Valid TenantSearchRequest request) {
+        return ResponseFactory.success(
+                "Find All Success",
+                tenantService.findAll(request)
+        );
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseFactory<List<TenantResponse>> searchTenants(@Valid SearchRequest request) {
+        return ResponseFactory.success(
+                "Search Success",
+                tenantService.search(request)
+        );
+    }
+
     @GetMapping("/{tenantId}")
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('SUPER_ADMIN')")
@@ -72,5 +98,30 @@ public class TenantController {
                 null
         );
     }
-}
 
+    @PatchMapping("/{tenantId}/tier")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseFactory<TenantResponse> updateTenantTier(
+            @Valid @RequestBody TenantTierRequest request,
+            @PathVariable UUID tenantId
+    ) {
+        return ResponseFactory.success(
+                "Update Success",
+                this.tenantService.changeTier(request, tenantId)
+        );
+    }
+
+    @PatchMapping("/{tenantId}/storage")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseFactory<TenantResponse> updateTenantStorage(
+            @Valid @RequestBody TenantStorageRequest request,
+            @PathVariable UUID tenantId
+    ) {
+        return ResponseFactory.success(
+                "Update Success",
+                this.tenantService.changeStorage(request, tenantId)
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto;
 
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+
 import java.util.UUID;
 
 public record TenantResponse(
@@ -8,5 +10,7 @@ public record TenantResponse(
         String email,
         String phone,
         String industry,
-        Boolean active
+        Boolean active,
+        TenantTier tier,
+        String storageSchema
 ) {}
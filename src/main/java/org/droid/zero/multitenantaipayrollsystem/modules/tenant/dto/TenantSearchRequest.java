@@ -0,0 +1,16 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto;
+
+import jakarta.validation.constraints.Positive;
+
+public record TenantSearchRequest(
+        String name,
+        String email,
+        String phone,
+        String industry,
+        Boolean active,
+        String cursor,
+        @Positive(message = "limit must be positive")
+        Integer limit,
+        Boolean includeTotal
+) {
+}
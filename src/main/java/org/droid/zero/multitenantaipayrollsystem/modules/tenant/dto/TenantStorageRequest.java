@@ -0,0 +1,9 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record TenantStorageRequest(
+        @NotNull(message = "dedicated is required")
+        Boolean dedicated
+) {
+}
@@ -0,0 +1,10 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto;
+
+import jakarta.validation.constraints.NotNull;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+
+public record TenantTierRequest(
+        @NotNull(message = "tier is required")
+        TenantTier tier
+) {
+}
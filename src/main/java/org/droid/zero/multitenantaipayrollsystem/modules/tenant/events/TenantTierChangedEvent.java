@@ -0,0 +1,11 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.events;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+
+import java.util.UUID;
+
+public record TenantTierChangedEvent(
+        UUID tenantId,
+        TenantTier tier
+) {
+}
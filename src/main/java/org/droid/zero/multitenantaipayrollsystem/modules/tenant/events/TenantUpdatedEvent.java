@@ -0,0 +1,8 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.events;
+
+import java.util.UUID;
+
+public record TenantUpdatedEvent(
+        UUID tenantId
+) {
+}
@@ -1,5 +1,6 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreRemove;
@@ -10,6 +11,8 @@ import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.TenantScop
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.context.UserContext;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -20,25 +23,18 @@ import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.Us
 @Component
 @RequiredArgsConstructor
 public class TenantScopedEntityListener {
-    private static final ThreadLocal<Boolean> SKIP_TENANT_CHECK = ThreadLocal.withInitial(() -> false);
+
+    // Transaction resource holding whether the transaction may touch other tenants' rows
+    private static final Object CROSS_TENANT_ACCESS_KEY = TenantScopedEntityListener.class.getName() + ".crossTenantAccess";
+
+    private final MeterRegistry meterRegistry;
 
     public static void runWithoutTenantChecks(Runnable action) {
-        SKIP_TENANT_CHECK.set(true);
-        try {
-            action.run();
-        } finally {
-            SKIP_TENANT_CHECK.remove();
-        }
+        TenantContext.runWithoutTenantChecks(action::run);
     }
 
     public static void runAsRootTenant(Runnable action) {
-        UUID scopedTenantId = TenantContext.getTenantId();
-        TenantContext.setTenantId(TenantContext.getRootTenantId());
-        try {
-            runWithoutTenantChecks(action);
-        } finally {
-            TenantContext.setTenantId(scopedTenantId);
-        }
+        TenantContext.runAsTenant(TenantContext.getRootTenantId(), () -> runWithoutTenantChecks(action));
     }
 
     @PrePersist
@@ -46,15 +42,55 @@ public class TenantScopedEntityListener {
     @PreRemove
     @PostLoad
     public void checkTenant(Object entity) {
-        if (SKIP_TENANT_CHECK.get()) return;
-        if (!(entity instanceof TenantScopedEntity)) return;
-        if (UserContext.hasRole(SUPER_ADMIN)) return;
+        if (!(entity instanceof TenantScopedEntity scopedEntity)) return;
 
+        // Rows read through the tenant-filtered session always match, so compare first and skip the
+        // security context entirely for them
         UUID currentTenantIdentifier = TenantContext.getTenantId();
-        UUID entityTenantIdentifier = ((TenantScopedEntity) entity).getTenantId();
-        if (!Objects.equals(currentTenantIdentifier, entityTenantIdentifier)) {
-            log.warn("Entity's tenantId does not match current tenant: currentTenantIdentifier={}, entity={}", currentTenantIdentifier, entity);
-            throw new IllegalArgumentException("Entity's tenantId does not match current tenant");
-        }
+        UUID entityTenantIdentifier = scopedEntity.getTenantId();
+        if (Objects.equals(currentTenantIdentifier, entityTenantIdentifier)) return;
+
+        if (crossTenantAccessAllowed()) return;
+
+        meterRegistry.counter("tenant.ownership.violations", "entity", entity.getClass().getSimpleName()).increment();
+        log.warn("Entity's tenantId does not match current tenant: currentTenantIdentifier={}, entity={}", currentTenantIdentifier, entity);
+        throw new IllegalArgumentException("Entity's tenantId does not match current tenant");
+    }
+
+    /**
+     * Whether tenant checks are disabled or the caller is a super admin. Inside a transaction this is resolved for
+     * its first cross-tenant row and reused for the rest, so a query returning many of them reads the security
+     * context once; the tenant binding and the authentication are therefore taken as fixed for the transaction,
+     * and {@link #runWithoutTenantChecks} has to be entered before it begins.
+     */
+    private boolean crossTenantAccessAllowed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return resolveCrossTenantAccess();
+
+        Boolean allowed = (Boolean) TransactionSynchronizationManager.getResource(CROSS_TENANT_ACCESS_KEY);
+        if (allowed != null) return allowed;
+
+        boolean resolved = resolveCrossTenantAccess();
+        TransactionSynchronizationManager.bindResource(CROSS_TENANT_ACCESS_KEY, resolved);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(CROSS_TENANT_ACCESS_KEY);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(CROSS_TENANT_ACCESS_KEY, resolved);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CROSS_TENANT_ACCESS_KEY);
+            }
+        });
+        return resolved;
+    }
+
+    private static boolean resolveCrossTenantAccess() {
+        return TenantContext.tenantChecksDisabled() || UserContext.hasRole(SUPER_ADMIN);
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,20 @@ package org.droid.zero.multitenantaipayrollsystem.modules.tenant.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseModel;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Entity
 @Getter
@@ -34,6 +42,18 @@ public class Tenant extends BaseModel {
     @Column(name = "is_active")
     private boolean active = true;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TenantTier tier = TenantTier.STANDARD;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private Map<String, String> settings = new HashMap<>();
+
+    // Written only by TenantStorageMover, inside the transaction that cuts the tenant over
+    @Column(name = "storage_schema", insertable = false, updatable = false)
+    private String storageSchema;
+
     public Tenant(String name, String email, String phone, String industry) {
         this.name = name;
         this.email = email;
@@ -48,6 +68,11 @@ public class Tenant extends BaseModel {
         if (industry != null && !industry.isBlank())  this.industry = industry;
     }
 
+    public void changeTier(TenantTier tier) {
+        if (tier == null) throw new IllegalArgumentException("Tier cannot be null");
+        this.tier = tier;
+    }
+
     public void toggleActiveStatus() {
         this.active = !this.active;
     }
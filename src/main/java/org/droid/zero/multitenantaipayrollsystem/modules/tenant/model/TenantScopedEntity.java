@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener.TenantScopedEntityListener;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseModel;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.TenantId;
 
 import java.util.UUID;
@@ -13,7 +14,9 @@ import java.util.UUID;
 @EntityListeners(TenantScopedEntityListener.class)
 public abstract class TenantScopedEntity extends BaseModel {
 
+    // The tables are partitioned by tenant, so Hibernate also keys its updates and deletes by this column
     @TenantId
+    @PartitionKey
     @Column(name = "tenant_id", nullable = false, updatable = false)
     protected UUID tenantId;
 
@@ -1,10 +1,15 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository;
 
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,4 +29,16 @@ public interface TenantRepository extends JpaRepository<Tenant, UUID>, JpaSpecif
     boolean existsByPhoneAndIdNot(String phone, UUID id);
 
     Optional<Tenant> findByEmailIgnoreCase(String mail);
+
+    // Builds the response in the query, without loading the entity and its settings
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse(t.id, t.name, t.email, t.phone, t.industry, t.active, t.tier, t.storageSchema) " +
+            "FROM Tenant t WHERE t.id = :id")
+    Optional<TenantResponse> findResponseById(UUID id);
+
+    @Query("SELECT t FROM Tenant t " +
+            "WHERE lower(t.name) LIKE :pattern ESCAPE '\\' OR lower(t.email) LIKE :pattern ESCAPE '\\' " +
+            "OR trgm_match(lower(t.name), :term) = true OR trgm_match(lower(t.email), :term) = true " +
+            "ORDER BY greatest(similarity(lower(t.name), :term), similarity(lower(t.email), :term)) DESC, t.id")
+    List<Tenant> search(String term, String pattern, Limit limit);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public class TenantSpecs {
@@ -35,4 +36,19 @@ public class TenantSpecs {
         return (root, ignored,criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("active"), active);
     }
+
+    /**
+     * Rows after the given (created_at, id) in keyset order. The leading {@code created_at >= ?} is implied by the
+     * rest, but lets the (created_at, id) index start at the cursor instead of scanning every earlier row.
+     */
+    public static Specification<Tenant> after(Instant createdAt, UUID id){
+        return (root, ignored, criteriaBuilder) ->
+                criteriaBuilder.and(
+                        criteriaBuilder.greaterThanOrEqualTo(root.<Instant>get("createdAt"), createdAt),
+                        criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(root.<Instant>get("createdAt"), createdAt),
+                                criteriaBuilder.greaterThan(root.<UUID>get("id"), id)
+                        )
+                );
+    }
 }
@@ -0,0 +1,259 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantTierChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantUpdatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient.TENANT_INVALIDATION_CHANNEL;
+
+/**
+ * Node-local view of every tenant's id, active flag, tier, settings and storage schema, so the request filters
+ * can reject an unknown or inactive tenant before any password hashing or user query.
+ * <p>
+ * The registry is loaded on startup and fully reloaded every {@code tenant.registry.refresh-interval-millis}.
+ * A tenant changed through {@link TenantService} is evicted on every node through Redis pub/sub and reloaded on
+ * its next lookup. A lookup for a tenant that is not in the registry falls back to the primary database, never to a
+ * replica that may not have the tenant yet, and an id that does not exist there is remembered for
+ * {@code tenant.registry.unknown-ttl-millis}.
+ * <p>
+ * Every eviction is stamped with a generation. A load that started before an eviction of the same tenant is
+ * discarded for that tenant instead of written back, so neither a lookup nor a full reload can resurrect what a
+ * concurrent change just invalidated.
+ */
+@Slf4j
+@Service
+public class TenantRegistry implements MessageListener {
+
+    private final TenantRepository tenantRepository;
+    private final RedisCacheClient redisCacheClient;
+    private final MeterRegistry meterRegistry;
+    private final ReadReplicaRouter readReplicaRouter;
+
+    @Value("${tenant.registry.unknown-ttl-millis:30000}")
+    private long unknownTtlMillis;
+    @Value("${tenant.registry.max-unknown-entries:10000}")
+    private int maxUnknownEntries;
+
+    private final Map<UUID, RegisteredTenant> tenants = new ConcurrentHashMap<>();
+    // Ids that do not exist, to expiry time; bounded because the ids come straight from request headers
+    private final Map<UUID, Long> unknownTenants = new ConcurrentHashMap<>();
+    // Tenant id to the generation it was last evicted at; pruned on every full reload
+    private final Map<UUID, Long> evictedAt = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long previousLoadedAt;
+    private volatile long lastRefreshedAt;
+
+    private Counter hits;
+    private Counter unknownHits;
+    private Counter misses;
+    private Counter evictions;
+
+    /**
+     * @param storageSchema the tenant's dedicated schema, or {@code null} when it is stored in the shared tables
+     */
+    public record RegisteredTenant(UUID id, boolean active, TenantTier tier, Map<String, String> settings, String storageSchema) {}
+
+    public TenantRegistry(
+            @Lazy TenantRepository tenantRepository,
+            RedisCacheClient redisCacheClient,
+            MeterRegistry meterRegistry,
+            ReadReplicaRouter readReplicaRouter
+    ) {
+        this.tenantRepository = tenantRepository;
+        this.redisCacheClient = redisCacheClient;
+        this.meterRegistry = meterRegistry;
+        this.readReplicaRouter = readReplicaRouter;
+    }
+
+    @PostConstruct
+    void init() {
+        this.hits = lookupCounter("hit");
+        this.unknownHits = lookupCounter("unknown");
+        this.misses = lookupCounter("miss");
+        this.evictions = Counter.builder("tenant.registry.evictions")
+                .description("Tenants evicted from the registry after a change on this or another node")
+                .register(meterRegistry);
+
+        Gauge.builder("tenant.registry.hit.ratio", this, TenantRegistry::hitRatio)
+                .description("Share of tenant lookups answered without a database query")
+                .register(meterRegistry);
+        Gauge.builder("tenant.registry.staleness", this, r -> r.lastRefreshedAt == 0 ? Double.NaN : (System.currentTimeMillis() - r.lastRefreshedAt) / 1000.0)
+                .description("Time since the registry was last fully reloaded from the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("tenant.registry.size", tenants, Map::size)
+                .description("Tenants held in the registry")
+                .register(meterRegistry);
+    }
+
+    public Optional<RegisteredTenant> find(UUID tenantId) {
+        RegisteredTenant registered = tenants.get(tenantId);
+        if (registered != null) {
+            hits.increment();
+            return Optional.of(registered);
+        }
+
+        Long unknownUntil = unknownTenants.get(tenantId);
+        if (unknownUntil != null && unknownUntil > System.currentTimeMillis()) {
+            unknownHits.increment();
+            return Optional.empty();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        Optional<RegisteredTenant> loaded = readReplicaRouter.callOnPrimary(() -> tenantRepository.findById(tenantId))
+                .map(TenantRegistry::toRegistered);
+        if (loaded.isPresent()) {
+            store(tenantId, loaded.get(), loadedAt);
+            unknownTenants.remove(tenantId);
+        } else {
+            if (unknownTenants.size() >= maxUnknownEntries) unknownTenants.clear();
+            // A tenant created while the lookup ran must not be remembered as unknown
+            unknownTenants.compute(tenantId, (id, current) -> evictedSince(id, loadedAt)
+                    ? current
+                    : Long.valueOf(System.currentTimeMillis() + unknownTtlMillis));
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the tenant only if the registry already holds it, without ever querying the database. For callers
+     * on the data access path itself, where a lookup would open a transaction of its own.
+     */
+    public Optional<RegisteredTenant> peek(UUID tenantId) {
+        return Optional.ofNullable(tenants.get(tenantId));
+    }
+
+    public boolean exists(UUID tenantId) {
+        return find(tenantId).isPresent();
+    }
+
+    /**
+     * Replaces the registry with the tenants currently in the database. Pub/sub delivery is not guaranteed,
+     * so this also repairs anything a lost invalidation left stale.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${tenant.registry.refresh-interval-millis:300000}",
+            fixedDelayString = "${tenant.registry.refresh-interval-millis:300000}"
+    )
+    public void refresh() {
+        long startedAt = System.currentTimeMillis();
+        long loadedAt = generation.get();
+        Map<UUID, RegisteredTenant> loaded = new HashMap<>();
+        try {
+            readReplicaRouter.callOnPrimary(tenantRepository::findAll).forEach(tenant -> loaded.put(tenant.getId(), toRegistered(tenant)));
+        } catch (RuntimeException e) {
+            log.warn("failed to reload the tenant registry, serving the previous view", e);
+            return;
+        }
+
+        tenants.keySet().retainAll(loaded.keySet());
+        loaded.forEach((tenantId, registered) -> store(tenantId, registered, loadedAt));
+        unknownTenants.clear();
+        // Keep the stamps of one full interval, so only a lookup outliving it could miss an eviction
+        long pruneThrough = previousLoadedAt;
+        evictedAt.values().removeIf(evicted -> evicted <= pruneThrough);
+        previousLoadedAt = loadedAt;
+        lastRefreshedAt = startedAt;
+        log.debug("tenant registry reloaded with {} tenants", loaded.size());
+    }
+
+    @TransactionalEventListener
+    public void handleTenantCreatedEvent(TenantCreatedEvent event) {
+        invalidate(event.tenantId());
+    }
+
+    @TransactionalEventListener
+    public void handleTenantUpdatedEvent(TenantUpdatedEvent event) {
+        invalidate(event.tenantId());
+    }
+
+    @TransactionalEventListener
+    public void handleTenantTierChangedEvent(TenantTierChangedEvent event) {
+        invalidate(event.tenantId());
+    }
+
+    @Override
+    public void onMessage(@NotNull Message message, byte[] pattern) {
+        try {
+            evict(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("ignoring malformed tenant invalidation message");
+        }
+    }
+
+    private void invalidate(UUID tenantId) {
+        evict(tenantId);
+        try {
+            redisCacheClient.publish(TENANT_INVALIDATION_CHANNEL, tenantId.toString());
+        } catch (RuntimeException e) {
+            // Other nodes pick the change up on their next full reload
+            log.warn("failed to broadcast tenant invalidation", e);
+        }
+    }
+
+    private void evict(UUID tenantId) {
+        // Stamped before the removals, so a load that writes back after them always sees the stamp
+        evictedAt.put(tenantId, generation.incrementAndGet());
+        tenants.remove(tenantId);
+        unknownTenants.remove(tenantId);
+        evictions.increment();
+    }
+
+    /**
+     * Writes a tenant read at {@code loadedAt} back into the registry, unless it was evicted since.
+     */
+    private void store(UUID tenantId, RegisteredTenant registered, long loadedAt) {
+        tenants.compute(tenantId, (id, current) -> evictedSince(id, loadedAt) ? current : registered);
+    }
+
+    private boolean evictedSince(UUID tenantId, long loadedAt) {
+        return evictedAt.getOrDefault(tenantId, 0L) > loadedAt;
+    }
+
+    private double hitRatio() {
+        double answered = hits.count() + unknownHits.count();
+        double total = answered + misses.count();
+        return total == 0 ? 1.0 : answered / total;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("tenant.registry.lookups")
+                .description("Tenant lookups by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static RegisteredTenant toRegistered(Tenant tenant) {
+        return new RegisteredTenant(tenant.getId(), tenant.isActive(), tenant.getTier(), Map.copyOf(tenant.getSettings()), tenant.getStorageSchema());
+    }
+}
@@ -0,0 +1,49 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.droid.zero.multitenantaipayrollsystem.system.resolver.TenantSchemaConnectionProvider.SHARED_SCHEMA;
+
+/**
+ * Runs the {@code db/tenant-migrations} scripts against dedicated tenant schemas, each schema keeping its own
+ * Flyway history. The shared schema is migrated by Spring Boot first, see {@code FlywayConfig}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TenantSchemaMigrator {
+
+    private static final String LOCATION = "classpath:db/tenant-migrations";
+    private static final String DEDICATED_SCHEMAS_SQL =
+            "SELECT DISTINCT storage_schema FROM " + SHARED_SCHEMA + ".tenants WHERE storage_schema IS NOT NULL";
+
+    private final DataSource dataSource;
+
+    public void migrateAll() {
+        List<String> schemas = new JdbcTemplate(dataSource).queryForList(DEDICATED_SCHEMAS_SQL, String.class);
+        schemas.forEach(this::migrate);
+        log.info("migrated {} dedicated tenant schemas", schemas.size());
+    }
+
+    /**
+     * Creates the schema if needed and brings it up to date.
+     */
+    public void migrate(String schema) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .createSchemas(true)
+                .locations(LOCATION)
+                .placeholders(Map.of("shared_schema", SHARED_SCHEMA))
+                .load()
+                .migrate();
+    }
+}
@@ -2,7 +2,13 @@ package org.droid.zero.multitenantaipayrollsystem.modules.tenant.service;
 
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantSearchRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantStorageRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantTierRequest;
+import org.droid.zero.multitenantaipayrollsystem.system.api.CursorPage;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface TenantService {
@@ -10,9 +16,17 @@ public interface TenantService {
 
     TenantResponse findCurrent();
 
+    CursorPage<TenantResponse> findAll(TenantSearchRequest request);
+
+    List<TenantResponse> search(SearchRequest request);
+
     TenantResponse save(TenantRequest request);
 
     TenantResponse update(TenantRequest request, UUID tenantId);
 
     void toggleTenantStatus(UUID tenantId);
+
+    TenantResponse changeTier(TenantTierRequest request, UUID tenantId);
+
+    TenantResponse changeStorage(TenantStorageRequest request, UUID tenantId);
 }
@@ -3,22 +3,37 @@ package org.droid.zero.multitenantaipayrollsystem.modules.tenant.service;
 import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantSearchRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantStorageRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantTierRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantTierChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantUpdatedEvent;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.mapper.TenantMapper;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseService;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
+import org.droid.zero.multitenantaipayrollsystem.system.api.CursorPage;
+import org.droid.zero.multitenantaipayrollsystem.system.api.KeysetCursor;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.droid.zero.multitenantaipayrollsystem.system.util.FieldDuplicateValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantSpecs.*;
 import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.TENANT;
 
 
@@ -29,22 +44,74 @@ public class TenantServiceImpl extends BaseService implements TenantService {
     private final TenantRepository tenantRepository;
     private final TenantMapper tenantMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final TenantStorageMover tenantStorageMover;
+    private final SingleFlight singleFlight;
 
-    @Transactional
+    // Keyset order for listings, backed by idx_tenants_created_at_id
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "id");
+
+    @Value("${tenant.listing.default-page-size:20}")
+    private int defaultPageSize = 20;
+    @Value("${tenant.listing.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    // Not transactional: concurrent reads of the same tenant share one load, and those waiting on it should not
+    // hold a transaction of their own. Changes to the tenant publish events that SingleFlight forgets it on.
     @Override
     public TenantResponse findById(UUID tenantId) {
-        Tenant requestedTenant = this.tenantRepository.findById(tenantId)
-                .orElseThrow(()-> new ObjectNotFoundException(TENANT, tenantId));
-
-        return tenantMapper.toResponse(requestedTenant);
+        return singleFlight.execute(TENANT, tenantId, () -> this.tenantRepository.findResponseById(tenantId)
+                .orElseThrow(()-> new ObjectNotFoundException(TENANT, tenantId)));
     }
 
-    @Transactional
     @Override
     public TenantResponse findCurrent() {
         return this.findById(TenantContext.getTenantId());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<TenantResponse> findAll(TenantSearchRequest request) {
+        Specification<Tenant> filters = Specification.allOf(filtersOf(request));
+        int limit = Math.min(request.limit() == null ? defaultPageSize : request.limit(), maxPageSize);
+
+        //Seek past the previous page instead of skipping an offset, so every page costs the same
+        Specification<Tenant> page = filters;
+        if (request.cursor() != null) {
+            KeysetCursor cursor = KeysetCursor.decode(request.cursor());
+            page = filters.and(after(cursor.createdAt(), cursor.id()));
+        }
+
+        //Fetch one extra row to learn whether there is a next page without counting
+        List<Tenant> tenants = tenantRepository.findBy(page, query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+        boolean hasNext = tenants.size() > limit;
+        if (hasNext) tenants = tenants.subList(0, limit);
+
+        Tenant last = tenants.isEmpty() ? null : tenants.getLast();
+        return new CursorPage<>(
+                tenants.stream().map(tenantMapper::toResponse).toList(),
+                hasNext ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null,
+                Boolean.TRUE.equals(request.includeTotal()) ? tenantRepository.count(filters) : null
+        );
+    }
+
+    private List<Specification<Tenant>> filtersOf(TenantSearchRequest request) {
+        List<Specification<Tenant>> filters = new ArrayList<>();
+        if (request.name() != null) filters.add(containsName(request.name()));
+        if (request.email() != null) filters.add(containsEmail(request.email()));
+        if (request.phone() != null) filters.add(containsPhone(request.phone()));
+        if (request.industry() != null) filters.add(containsIndustry(request.industry()));
+        if (request.active() != null) filters.add(hasActiveStatus(request.active()));
+        return filters;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<TenantResponse> search(SearchRequest request) {
+        return this.tenantRepository.search(request.term(), request.containsPattern(), request.resultLimit()).stream()
+                .map(tenantMapper::toResponse)
+                .toList();
+    }
+
     @Transactional
     @Override
     public TenantResponse save(TenantRequest request) {
@@ -103,6 +170,9 @@ public class TenantServiceImpl extends BaseService implements TenantService {
         //Update the fields
         existingTenant.updateTenant(request.name(),request.email(), request.phone(), request.industry());
 
+        //Let every node drop its cached copy of the tenant
+        eventPublisher.publishEvent(new TenantUpdatedEvent(tenantId));
+
         //Directly returning the mapped model since it automatically persists the changes to the database
         return tenantMapper.toResponse(existingTenant);
     }
@@ -115,5 +185,32 @@ public class TenantServiceImpl extends BaseService implements TenantService {
                 .orElseThrow(()-> new ObjectNotFoundException(TENANT, tenantId));
 
         existingTenant.toggleActiveStatus();
+
+        //Let every node drop its cached copy, requests for an inactive tenant are then rejected up front
+        eventPublisher.publishEvent(new TenantUpdatedEvent(tenantId));
+    }
+
+    @Transactional
+    @Override
+    public TenantResponse changeTier(TenantTierRequest request, UUID tenantId) {
+        //Find the tenant to update, else throw an exception
+        Tenant existingTenant = this.tenantRepository.findById(tenantId)
+                .orElseThrow(()-> new ObjectNotFoundException(TENANT, tenantId));
+
+        existingTenant.changeTier(request.tier());
+
+        //Let the quota filter pick up the new limits
+        eventPublisher.publishEvent(new TenantTierChangedEvent(tenantId, request.tier()));
+
+        return tenantMapper.toResponse(existingTenant);
+    }
+
+    // Not transactional: the move commits in steps so the tenant stays online while its rows are copied
+    @Override
+    public TenantResponse changeStorage(TenantStorageRequest request, UUID tenantId) {
+        if (request.dedicated()) tenantStorageMover.moveToDedicated(tenantId);
+        else tenantStorageMover.moveToShared(tenantId);
+
+        return this.findById(tenantId);
     }
 }
@@ -0,0 +1,270 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantUpdatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ResourceConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.TENANT;
+import static org.droid.zero.multitenantaipayrollsystem.system.resolver.TenantSchemaConnectionProvider.SHARED_SCHEMA;
+
+/**
+ * Moves one tenant's rows between the shared tables and a dedicated schema while the tenant stays online.
+ * <ol>
+ *     <li>The dedicated schema is created and migrated when moving out of the shared tables.</li>
+ *     <li>The rows are copied in batches of {@code tenant.storage.move-batch-size}, without blocking anyone.</li>
+ *     <li>A first reconciliation applies what changed during the copy, still without blocking.</li>
+ *     <li>The cutover locks the tenant row, which holds back the tenant's writes through the storage guard trigger,
+ *     reconciles once more, records the new schema and commits. Every node then drops the tenant from its
+ *     registry and opens its next connection on the new schema.</li>
+ *     <li>The rows left behind are deleted in batches, and an emptied dedicated schema is dropped.</li>
+ * </ol>
+ * A node that still routes the tenant to the old schema after the cutover has its writes rejected by the guard
+ * trigger with a serialization failure, and may serve reads from the old copy until the invalidation reaches it.
+ * Work on behalf of the root tenant only sees the shared tables.
+ * <p>
+ * One move per tenant runs at a time across all nodes: a move holds a PostgreSQL advisory lock on the tenant for its
+ * whole duration, and a second one is rejected with {@link ResourceConflictException}. The tenant's storage schema is
+ * read again once the lock is held, and checked under the row lock at cutover before it is changed.
+ */
+@Slf4j
+@Service
+public class TenantStorageMover {
+
+    // Tables whose rows belong to one tenant, in the order they are copied; see db/tenant-migrations
+    public static final List<String> DEDICATED_TABLES = List.of("departments", "positions");
+
+    private static final String BYPASS_GUARD_SQL = "SET LOCAL payroll.tenant_storage_move = 'on'";
+    private static final String STORAGE_SCHEMA_SQL = "SELECT COALESCE(storage_schema, '" + SHARED_SCHEMA + "') FROM " + SHARED_SCHEMA + ".tenants WHERE id = ?";
+    private static final String LOCK_TENANT_SQL = "SELECT COALESCE(storage_schema, '" + SHARED_SCHEMA + "') FROM " + SHARED_SCHEMA + ".tenants WHERE id = ? FOR UPDATE";
+    // Session-level, so it spans the steps of a move that each commit on their own connection
+    private static final String TRY_LOCK_MOVE_SQL = "SELECT pg_try_advisory_lock(hashtext('tenant_storage_move'), hashtext(?))";
+    private static final String UNLOCK_MOVE_SQL = "SELECT pg_advisory_unlock(hashtext('tenant_storage_move'), hashtext(?))";
+    private static final String CUT_OVER_SQL = "UPDATE " + SHARED_SCHEMA + ".tenants SET storage_schema = ?, version = COALESCE(version, 0) + 1 WHERE id = ?";
+    private static final String COLUMNS_SQL = "SELECT column_name FROM information_schema.columns WHERE table_schema = ? AND table_name = ? ORDER BY ordinal_position";
+    private static final UUID FIRST_ID = new UUID(0L, 0L); // sorts first in PostgreSQL
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantSchemaMigrator tenantSchemaMigrator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tenant.storage.move-batch-size:1000}")
+    private int batchSize = 1000;
+
+    public TenantStorageMover(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TenantSchemaMigrator tenantSchemaMigrator,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Every step commits on its own, whatever the caller is doing
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tenantSchemaMigrator = tenantSchemaMigrator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public static String dedicatedSchemaOf(UUID tenantId) {
+        return "tenant_" + tenantId.toString().replace("-", "");
+    }
+
+    public void moveToDedicated(UUID tenantId) {
+        String target = dedicatedSchemaOf(tenantId);
+        exclusively(tenantId, () -> {
+            String source = storageSchemaOf(tenantId);
+            if (target.equals(source)) return;
+
+            tenantSchemaMigrator.migrate(target);
+            move(tenantId, source, target);
+        });
+    }
+
+    public void moveToShared(UUID tenantId) {
+        exclusively(tenantId, () -> {
+            String source = storageSchemaOf(tenantId);
+            if (SHARED_SCHEMA.equals(source)) return;
+
+            move(tenantId, source, SHARED_SCHEMA);
+            jdbcTemplate.execute("DROP SCHEMA " + source + " CASCADE");
+        });
+    }
+
+    // Holds the tenant's move lock on a connection of its own while the steps of the move use others
+    private void exclusively(UUID tenantId, Runnable move) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, TRY_LOCK_MOVE_SQL, tenantId)) {
+                throw new ResourceConflictException("The tenant's storage is already being moved. Please try again once it is done.");
+            }
+            try {
+                move.run();
+            } finally {
+                advisoryLock(connection, UNLOCK_MOVE_SQL, tenantId);
+            }
+            return null;
+        });
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, UUID tenantId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, tenantId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void move(UUID tenantId, String source, String target) {
+        long startedAt = System.currentTimeMillis();
+        log.info("moving tenant {} from schema {} to {}", tenantId, source, target);
+
+        List<TableCopy> tables = DEDICATED_TABLES.stream()
+                .map(table -> new TableCopy(table, source, target, columnsOf(table)))
+                .toList();
+
+        long copied = 0;
+        for (TableCopy table : tables) copied += backfill(tenantId, table);
+
+        // Catch up on the writes made during the backfill while the tenant is still writable
+        long reconciled = 0;
+        for (TableCopy table : tables) reconciled += inTransaction(() -> reconcile(tenantId, table));
+
+        long cutOver = inTransaction(() -> {
+            String current = jdbcTemplate.queryForObject(LOCK_TENANT_SQL, String.class, tenantId);
+            if (!source.equals(current)) {
+                throw new IllegalStateException("Tenant " + tenantId + " moved to schema " + current + " while being copied out of " + source);
+            }
+            long changed = 0;
+            for (TableCopy table : tables) changed += reconcile(tenantId, table);
+
+            jdbcTemplate.update(CUT_OVER_SQL, SHARED_SCHEMA.equals(target) ? null : target, tenantId);
+            // Evicts the tenant from every node's registry once this commits
+            eventPublisher.publishEvent(new TenantUpdatedEvent(tenantId));
+            return changed;
+        });
+
+        // A dedicated schema is dropped as a whole by the caller
+        long removed = 0;
+        if (SHARED_SCHEMA.equals(source)) {
+            for (TableCopy table : tables) removed += purge(tenantId, table);
+        }
+
+        log.info("moved tenant {} to schema {} in {} ms: {} rows copied, {} reconciled, {} at cutover, {} removed",
+                tenantId, target, System.currentTimeMillis() - startedAt, copied, reconciled, cutOver, removed);
+    }
+
+    private long backfill(UUID tenantId, TableCopy table) {
+        String sql = """
+                WITH batch AS (
+                    SELECT %1$s FROM %2$s WHERE tenant_id = ? AND id > ? ORDER BY id LIMIT ?
+                ), copied AS (
+                    INSERT INTO %3$s (%1$s) SELECT %1$s FROM batch ON CONFLICT (tenant_id, id) DO NOTHING
+                )
+                SELECT (SELECT count(*) FROM batch), (SELECT id FROM batch ORDER BY id DESC LIMIT 1)
+                """.formatted(table.columnList(""), table.sourceTable(), table.targetTable());
+
+        long copied = 0;
+        UUID after = FIRST_ID;
+        while (after != null) {
+            UUID from = after;
+            Batch batch = inTransaction(() -> jdbcTemplate.queryForObject(sql,
+                    (rs, rowNum) -> new Batch(rs.getLong(1), rs.getObject(2, UUID.class)),
+                    tenantId, from, batchSize));
+            copied += batch.rows();
+            after = batch.lastId();
+        }
+        return copied;
+    }
+
+    // Makes the target rows equal to the source rows: inserts or overwrites what differs, deletes what is gone
+    private long reconcile(UUID tenantId, TableCopy table) {
+        String upsert = """
+                INSERT INTO %2$s (%1$s)
+                SELECT %4$s FROM %3$s s
+                 WHERE s.tenant_id = ?
+                   AND NOT EXISTS (SELECT 1 FROM %2$s t WHERE t.tenant_id = s.tenant_id AND t.id = s.id AND ROW(%5$s) IS NOT DISTINCT FROM ROW(%4$s))
+                ON CONFLICT (tenant_id, id) DO UPDATE SET %6$s
+                """.formatted(
+                table.columnList(""),
+                table.targetTable(),
+                table.sourceTable(),
+                table.columnList("s."),
+                table.columnList("t."),
+                table.columns().stream().map(column -> column + " = EXCLUDED." + column).collect(Collectors.joining(", "))
+        );
+        String delete = """
+                DELETE FROM %1$s t
+                 WHERE t.tenant_id = ?
+                   AND NOT EXISTS (SELECT 1 FROM %2$s s WHERE s.tenant_id = t.tenant_id AND s.id = t.id)
+                """.formatted(table.targetTable(), table.sourceTable());
+
+        return jdbcTemplate.update(upsert, tenantId) + jdbcTemplate.update(delete, tenantId);
+    }
+
+    private long purge(UUID tenantId, TableCopy table) {
+        String sql = "DELETE FROM %1$s WHERE tenant_id = ? AND id IN (SELECT id FROM %1$s WHERE tenant_id = ? LIMIT ?)".formatted(table.sourceTable());
+
+        long removed = 0;
+        int deleted;
+        do {
+            deleted = inTransaction(() -> jdbcTemplate.update(sql, tenantId, tenantId, batchSize));
+            removed += deleted;
+        } while (deleted > 0);
+        return removed;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> {
+            // The guard trigger would otherwise reject writes to the schema the tenant is not stored in yet
+            jdbcTemplate.execute(BYPASS_GUARD_SQL);
+            return work.get();
+        });
+    }
+
+    private String storageSchemaOf(UUID tenantId) {
+        List<String> schemas = jdbcTemplate.queryForList(STORAGE_SCHEMA_SQL, String.class, tenantId);
+        if (schemas.isEmpty()) throw new ObjectNotFoundException(TENANT, tenantId);
+        return schemas.getFirst();
+    }
+
+    private List<String> columnsOf(String table) {
+        List<String> columns = jdbcTemplate.queryForList(COLUMNS_SQL, String.class, SHARED_SCHEMA, table);
+        if (columns.isEmpty()) throw new IllegalStateException("Unknown tenant table: " + table);
+        return columns;
+    }
+
+    private record Batch(long rows, UUID lastId) {}
+
+    private record TableCopy(String table, String source, String target, List<String> columns) {
+
+        String sourceTable() {
+            return source + "." + table;
+        }
+
+        String targetTable() {
+            return target + "." + table;
+        }
+
+        String columnList(String alias) {
+            return columns.stream().map(column -> alias + column).collect(Collectors.joining(", "));
+        }
+    }
+}
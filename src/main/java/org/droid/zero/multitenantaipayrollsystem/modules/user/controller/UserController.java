@@ -6,10 +6,12 @@ import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserRegistrati
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.service.UserService;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +21,15 @@ public class UserController {
 
     private final UserService userService;
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TENANT_ADMIN')")
+    public ResponseFactory<List<UserResponse>> searchUsers(@Valid SearchRequest request) {
+        return ResponseFactory.success(
+                "Search Success",
+                userService.search(request)
+        );
+    }
+
     @GetMapping("/{userId}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TENANT_ADMIN') or #userId == @userContext.currentUser.id")
     public ResponseFactory<UserResponse> findUserById(@PathVariable UUID userId) {
@@ -39,4 +50,14 @@ public class UserController {
         );
     }
 
+    @PatchMapping("/{userId}/status")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TENANT_ADMIN')")
+    public ResponseFactory<?> updateUserStatus(@PathVariable UUID userId) {
+        this.userService.toggleUserStatus(userId);
+        return ResponseFactory.success(
+                "Update Success",
+                null
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a change invalidates the tokens already issued to a user
+ * (roles, password, login email or active state).
+ */
+public record UserSecurityChangedEvent(
+        UUID userId
+) {
+}
@@ -0,0 +1,83 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user.listener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.UserTenantRole;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Publishes a {@link UserSecurityChangedEvent} whenever a flush changes what a user's tokens were issued for: the
+ * user's active state, the roles of a membership, or a membership itself being removed. Hooking the flush rather
+ * than the service methods covers every code path that mutates the entities. A new membership does not invalidate
+ * anything, as the user's existing tokens are all for other tenants.
+ * <p>
+ * The event is published inside the transaction, so the stamp is only bumped once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecurityChangeListener implements PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String ACTIVE_PROPERTY = "active";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof User user)) return;
+
+        // Without dirty properties Hibernate wrote every column, so the state may have changed
+        int activeIndex = event.getPersister().getEntityMetamodel().getPropertyIndex(ACTIVE_PROPERTY);
+        int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties == null || Arrays.stream(dirtyProperties).anyMatch(index -> index == activeIndex)) {
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof UserTenantRole userTenantRole) publishFor(userTenantRole);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof UserTenantRole userTenantRole) publishFor(userTenantRole);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof UserTenantRole userTenantRole) publishFor(userTenantRole);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // The user is a lazy reference, its id is read without loading it
+    private void publishFor(UserTenantRole userTenantRole) {
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userTenantRole.getUser().getId()));
+    }
+}
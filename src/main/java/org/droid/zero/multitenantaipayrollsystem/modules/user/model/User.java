@@ -11,6 +11,7 @@ import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
 import org.droid.zero.multitenantaipayrollsystem.system.BaseModel;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.TenantScopedEntity;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,11 +24,28 @@ import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.Us
 
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(
+        name = User.AUTHENTICATION_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("userCredentials"),
+                @NamedAttributeNode(value = "userTenantRoles", subgraph = "roles")
+        },
+        subgraphs = @NamedSubgraph(name = "roles", attributeNodes = @NamedAttributeNode("roles"))
+)
+@NamedEntityGraph(
+        name = User.PROFILE_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "userTenantRoles", subgraph = "roles"),
+        subgraphs = @NamedSubgraph(name = "roles", attributeNodes = @NamedAttributeNode("roles"))
+)
 @Getter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class User extends BaseModel implements UserDetails {
 
+    // Fetch plans per use case; everything outside a plan is loaded lazily, in batches
+    public static final String AUTHENTICATION_GRAPH = "User.authentication";
+    public static final String PROFILE_GRAPH = "User.profile";
+
     @NotBlank(message = "firstName is required")
     @Column(name = "first_name")
     private String firstName;
@@ -46,10 +64,11 @@ public class User extends BaseModel implements UserDetails {
     @Column(name = "is_verified")
     private boolean verified = true; // set to true for now
 
-    @OneToOne(mappedBy = "user", optional = false, cascade = CascadeType.ALL)
+    @OneToOne(mappedBy = "user", optional = false, fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private UserCredentials userCredentials;
 
-    @OneToMany(mappedBy = "user",  fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private final Set<UserTenantRole> userTenantRoles = new HashSet<>();
 
     @Transient
@@ -73,6 +92,18 @@ public class User extends BaseModel implements UserDetails {
         this.userTenantRoles.add(new UserTenantRole(roleSet,this, tenantId));
     }
 
+    /**
+     * Builds a detached principal from verified token claims. It is never persisted and only carries
+     * the id, login email and the roles of the token's tenant.
+     */
+    public static User fromTokenClaims(UUID id, String email, Set<UserRole> activeRoles) {
+        User user = new User();
+        user.setId(id);
+        user.userCredentials = new UserCredentials(email, null);
+        user.activeRoles.addAll(activeRoles);
+        return user;
+    }
+
     public void updateProfile(String firstName, String lastName, String contactEmail) {
         if (firstName != null && !firstName.isBlank()) this.firstName = firstName;
         if (lastName != null && !lastName.isBlank()) this.lastName = lastName;
@@ -89,6 +120,10 @@ public class User extends BaseModel implements UserDetails {
         this.verified = true;
     }
 
+    public void toggleActiveStatus() {
+        this.active = !this.active;
+    }
+
     public Set<UUID> getTenantIds(){
         return userTenantRoles.stream().map(TenantScopedEntity::getTenantId).collect(Collectors.toSet());
     }
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener.TenantScopedEntityListener;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.TenantScopedEntity;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -29,16 +30,29 @@ public class UserTenantRole extends TenantScopedEntity {
     private User user;
 
     @NotEmpty(message = "roles is required")
-    @ElementCollection(targetClass = UserRole.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
+    @ElementCollection(targetClass = UserRole.class)
     @CollectionTable(
             name = "user_tenant_roles_mapping",
             joinColumns = @JoinColumn(name = "user_tenant_role_id"),
-            foreignKey = @ForeignKey(name = "fk_user_tenant_role_mapping")
+            // Constrained on (tenant_id, user_tenant_role_id) by the schema, which fills tenant_id in on insert
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)
     )
     @Enumerated(EnumType.STRING)
     @Column(name = "roles")
     private Set<UserRole> roles = new HashSet<>(Set.of(EMPLOYEE));
 
+    // Lower-cased copies of the user's searched columns, filled in by the schema so the user search can lead with
+    // the tenant; only ever read in queries
+    @Column(name = "search_first_name", insertable = false, updatable = false)
+    private String searchFirstName;
+
+    @Column(name = "search_last_name", insertable = false, updatable = false)
+    private String searchLastName;
+
+    @Column(name = "search_contact_email", insertable = false, updatable = false)
+    private String searchContactEmail;
+
     public UserTenantRole(
             Set<UserRole> roles,
             User user,
@@ -1,11 +1,16 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.user.repository;
 
 import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -13,16 +18,41 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    @EntityGraph(User.PROFILE_GRAPH)
     Optional<User> findByIdAndUserTenantRoles_TenantId(UUID userId, UUID tenantId);
 
+    // Builds the response in the query, without loading the entity, its credentials or its tenant roles
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse(u.id, u.firstName, u.lastName, u.contactEmail) " +
+            "FROM User u " +
+            "JOIN u.userTenantRoles utr " +
+            "WHERE u.id = :userId AND utr.tenantId = :tenantId")
+    Optional<UserResponse> findResponseByIdAndTenantId(UUID userId, UUID tenantId);
+
+    @EntityGraph(User.AUTHENTICATION_GRAPH)
     Optional<User> findByUserCredentials_EmailIgnoreCase_AndUserTenantRoles_TenantId(String username, UUID tenantId);
 
+    // The listing shows each user's login and roles, exactly what authentication loads
     @Query("SELECT DISTINCT u FROM User u " +
             "JOIN u.userTenantRoles utr " +
             "WHERE utr.tenantId = :tenantId " +
             "AND EXISTS (SELECT 1 FROM utr.roles r WHERE r IN :roles)")
+    @EntityGraph(User.AUTHENTICATION_GRAPH)
     Set<User> findAllByTenantAndRoles(UUID tenantId, Set<UserRole> roles);
 
+    @EntityGraph(User.PROFILE_GRAPH)
     Optional<User> findByContactEmail(String contactEmail);
 
+    // Matches the membership's copies of the searched columns, which the tenant_id-led trigram index covers
+    @Query("SELECT u FROM User u " +
+            "JOIN u.userTenantRoles utr " +
+            "WHERE utr.tenantId = :tenantId " +
+            "AND (utr.searchFirstName LIKE :pattern ESCAPE '\\' OR utr.searchLastName LIKE :pattern ESCAPE '\\' " +
+            "OR utr.searchContactEmail LIKE :pattern ESCAPE '\\' " +
+            "OR trgm_match(utr.searchFirstName, :term) = true OR trgm_match(utr.searchLastName, :term) = true " +
+            "OR trgm_match(utr.searchContactEmail, :term) = true) " +
+            "ORDER BY greatest(similarity(utr.searchFirstName, :term), similarity(utr.searchLastName, :term), " +
+            "similarity(utr.searchContactEmail, :term)) DESC, u.id")
+    List<User> search(UUID tenantId, String term, String pattern, Limit limit);
+
 }
\ No newline at end of file
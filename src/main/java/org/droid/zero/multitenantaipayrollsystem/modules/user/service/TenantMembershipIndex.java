@@ -0,0 +1,81 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches, per user, the active tenants they belong to and their roles in each.
+ * <p>
+ * Read with plain SQL because Hibernate's {@code @TenantId} filter limits {@code User.getUserTenantRoles()}
+ * to the tenant of the current request, which hides exactly the memberships a tenant switch needs.
+ */
+@Service
+@RequiredArgsConstructor
+public class TenantMembershipIndex {
+
+    private static final String MEMBERSHIPS_SQL = """
+            SELECT utr.tenant_id, m.roles
+              FROM user_tenant_role utr
+              JOIN user_tenant_roles_mapping m ON m.user_tenant_role_id = utr.id
+              JOIN tenants t ON t.id = utr.tenant_id
+             WHERE utr.user_id = ?
+               AND utr.deleted_at IS NULL
+               AND t.is_active = TRUE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.tenant-membership.cache-ttl-millis:60000}")
+    private long cacheTtlMillis;
+
+    private final Map<UUID, CachedMemberships> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @return the user's roles in the tenant, or an empty set if they are not a member of an active tenant
+     */
+    public Set<UserRole> rolesFor(UUID userId, UUID tenantId) {
+        return membershipsOf(userId).getOrDefault(tenantId, Set.of());
+    }
+
+    public Set<UUID> tenantIdsOf(UUID userId) {
+        return membershipsOf(userId).keySet();
+    }
+
+    @TransactionalEventListener
+    public void handleUserSecurityChangedEvent(UserSecurityChangedEvent event) {
+        cache.remove(event.userId());
+    }
+
+    private Map<UUID, Set<UserRole>> membershipsOf(UUID userId) {
+        long now = System.currentTimeMillis();
+        CachedMemberships cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) return cached.memberships();
+
+        Map<UUID, Set<UserRole>> memberships = new HashMap<>();
+        jdbcTemplate.query(MEMBERSHIPS_SQL, rs -> {
+            UUID tenantId = rs.getObject("tenant_id", UUID.class);
+            String role = rs.getString("roles");
+            Set<UserRole> roles = memberships.computeIfAbsent(tenantId, id -> EnumSet.noneOf(UserRole.class));
+            if (role != null) roles.add(UserRole.valueOf(role));
+        }, userId);
+
+        memberships.replaceAll((tenantId, roles) -> Set.copyOf(roles));
+        Map<UUID, Set<UserRole>> snapshot = Map.copyOf(memberships);
+        cache.put(userId, new CachedMemberships(snapshot, now + cacheTtlMillis));
+        return snapshot;
+    }
+
+    private record CachedMemberships(Map<UUID, Set<UserRole>> memberships, long expiresAt) {}
+}
@@ -3,16 +3,22 @@ package org.droid.zero.multitenantaipayrollsystem.modules.user.service;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserRegistrationRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface UserService {
     UserResponse findById(UUID userId);
 
+    List<UserResponse> search(SearchRequest request);
+
     UserResponse save(UserRegistrationRequest request);
 
+    void toggleUserStatus(UUID userId);
+
     @TransactionalEventListener
     @Async
     void handleTenantCreatedEvent(TenantCreatedEvent event);
@@ -4,7 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.CredentialsRegistrationRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.model.UserCredentials;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
-import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserRegistrationRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.mapper.UserMapper;
@@ -14,6 +14,7 @@ import org.droid.zero.multitenantaipayrollsystem.system.BaseService;
 import org.droid.zero.multitenantaipayrollsystem.system.TenantExecutor;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.droid.zero.multitenantaipayrollsystem.system.util.FieldDuplicateValidator;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -35,20 +37,25 @@ import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.USER
 public class UserServiceImpl extends BaseService implements UserService {
 
     private final UserRepository userRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final TenantExecutor tenantExecutor;
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public UserResponse findById(UUID userId) {
         //Fetch the requested user (or fail with 404)
-        User requestedUser = userRepository.findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId())
+        return userRepository.findResponseByIdAndTenantId(userId, TenantContext.getTenantId())
                 .orElseThrow(() -> new ObjectNotFoundException(USER, userId));
+    }
 
-
-        return userMapper.toResponse(requestedUser);
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserResponse> search(SearchRequest request) {
+        return userRepository.search(TenantContext.getTenantId(), request.term(), request.containsPattern(), request.resultLimit()).stream()
+                .map(userMapper::toResponse)
+                .toList();
     }
 
     @Transactional
@@ -64,6 +71,17 @@ public class UserServiceImpl extends BaseService implements UserService {
         return userMapper.toResponse(savedUser);
     }
 
+    @Transactional
+    @Override
+    public void toggleUserStatus(UUID userId) {
+        //Find the user to update within the current tenant, else throw an exception
+        User existingUser = userRepository.findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId())
+                .orElseThrow(() -> new ObjectNotFoundException(USER, userId));
+
+        //The tokens already issued to the user are invalidated by UserSecurityChangeListener on flush
+        existingUser.toggleActiveStatus();
+    }
+
     @TransactionalEventListener
     @Async
     @Override
@@ -86,7 +104,7 @@ public class UserServiceImpl extends BaseService implements UserService {
     }
 
     private User createUser(UserRegistrationRequest request, UUID tenantId) {
-        if (!tenantRepository.existsById(tenantId)) throw new ObjectNotFoundException(TENANT, tenantId, "tenantId");
+        if (!tenantRegistry.exists(tenantId)) throw new ObjectNotFoundException(TENANT, tenantId, "tenantId");
 
         //Validate if the provided arguments does not violate unique constraints
         userRepository.findByContactEmail(request.contactEmail()).ifPresent(user -> new FieldDuplicateValidator()
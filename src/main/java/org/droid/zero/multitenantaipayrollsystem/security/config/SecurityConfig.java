@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.security.filters.JwtAuthenticationFilter;
 import org.droid.zero.multitenantaipayrollsystem.security.filters.RateLimitCheckFilter;
 import org.droid.zero.multitenantaipayrollsystem.security.filters.TenantContextFilter;
+import org.droid.zero.multitenantaipayrollsystem.security.filters.TenantQuotaFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +30,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final TenantContextFilter tenantContextFilter;
     private final RateLimitCheckFilter rateLimitCheckFilter;
+    private final TenantQuotaFilter tenantQuotaFilter;
     private final CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint;
     private final CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint;
     private final CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler;
@@ -78,6 +80,7 @@ public class SecurityConfig {
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(tenantContextFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(tenantQuotaFilter, JwtAuthenticationFilter.class)
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .build();
     }
@@ -0,0 +1,94 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.AdaptiveConcurrencyLimiter;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.RequestPriority;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Sheds load with a fast 503 once the {@link AdaptiveConcurrencyLimiter} is saturated, before a request reaches the
+ * security filter chains, so excess requests are turned away instead of queueing and slowing down every tenant.
+ * <p>
+ * Registered as a servlet filter ahead of Spring Security rather than inside {@code SecurityConfig}, as it has to
+ * cover both chains and cost nothing per rejected request.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> criticalPaths;
+
+    @Value("${overload.concurrency-limit.enabled:true}")
+    private boolean enabled = true;
+
+    public ConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ErrorResponseWriter errorResponseWriter,
+            @Value("${api.endpoint.base-url}") String baseUrl,
+            @Value("${overload.concurrency-limit.critical-paths:/auth/login,/auth/refresh,/payroll/**/approve}") String[] criticalPaths
+    ) {
+        this.limiter = limiter;
+        this.errorResponseWriter = errorResponseWriter;
+        this.criticalPaths = Arrays.stream(criticalPaths).map(path -> baseUrl + path.trim()).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        // Health probes must answer while the node is saturated, or it gets restarted for being busy
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priorityOf(request));
+        if (permit == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            errorResponseWriter.write(
+                    response,
+                    SERVICE_UNAVAILABLE,
+                    "service_unavailable",
+                    "Service Unavailable",
+                    "The server is too busy to handle this request. Please try again later.",
+                    "server"
+            );
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private RequestPriority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (criticalPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) return RequestPriority.CRITICAL;
+        return HttpMethod.GET.matches(request.getMethod()) ? RequestPriority.SHEDDABLE : RequestPriority.NORMAL;
+    }
+}
@@ -5,7 +5,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.PrincipalMode;
 import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,41 +27,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
 
+    @Value("${auth.jwt.principal-mode:database}")
+    private PrincipalMode principalMode = PrincipalMode.DATABASE;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
+        final VerifiedToken token;
 
-        // 1. Basic Validation: Header presence and format
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        // 1. Reuse the token verified by TenantContextFilter (verifies it here only if it was not yet)
+        try {
+            token = tokenService.resolveToken(request);
+        } catch (Exception e) {
+            // Token is invalid/expired; proceed without setting context
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7); // Remove "Bearer " prefix
-
-        // 2. Extract Username
-        try {
-            username = tokenService.extractUsername(jwt);
-        } catch (Exception e) {
-            // Token is invalid/expired; proceed without setting context
+        if (token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        // 2. Extract Username
+        final String username = token.username();
+
         // 3. Authentication process
         // Only authenticate if username exists and user is not already authenticated
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // Load user from DB (ensures the user still exists and accounts aren't locked)
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // Either load the user from DB (ensures the user still exists and accounts aren't locked)
+            // or trust the verified claims, in which case revocation relies on the security stamp
+            UserDetails userDetails = principalMode == PrincipalMode.CLAIMS
+                    ? tokenService.toPrincipal(token)
+                    : this.userDetailsService.loadUserByUsername(username);
 
-            if (tokenService.isTokenValid(jwt, userDetails)) {
+            if (tokenService.isTokenValid(token, userDetails)) {
 
                 // Create Auth Token
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -1,17 +1,16 @@
 package org.droid.zero.multitenantaipayrollsystem.security.filters;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
-import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorObject;
-import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
 import org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,7 +18,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
@@ -27,21 +27,17 @@ import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 @RequiredArgsConstructor
 public class RateLimitCheckFilter extends OncePerRequestFilter {
 
-    private static final ThreadLocal<Boolean> DISABLED = ThreadLocal.withInitial(() -> false);
-
     private final RedisCacheClient redis;
-    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Value("${auth.disable-login-rate-limit}")
     private boolean disableRateLimit = false;
-
-    public static void disable() {
-        DISABLED.set(true);
-    }
-
-    public static void enable() {
-        DISABLED.set(false);
-    }
+    @Value("${auth.login-rate-limit.window-millis:900000}")
+    private long windowMillis = 900_000;
+    @Value("${auth.login-rate-limit.max-attempts-per-account:5}")
+    private int maxAttemptsPerAccount = 5;
+    @Value("${auth.login-rate-limit.max-attempts-per-ip:50}")
+    private int maxAttemptsPerIp = 50;
 
     @Override
     protected void doFilterInternal(
@@ -49,9 +45,7 @@ public class RateLimitCheckFilter extends OncePerRequestFilter {
             @NotNull HttpServletResponse response,
             @NotNull FilterChain filterChain
     ) throws ServletException, IOException {
-        DISABLED.set(disableRateLimit);
-
-        if (DISABLED.get()) {
+        if (disableRateLimit) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -65,27 +59,37 @@ public class RateLimitCheckFilter extends OncePerRequestFilter {
             tenantId = HeaderUtils.extractTenantId(request);
         } catch (Exception ignored) {}
 
-        var error = ResponseFactory.error(
-                "Login attempts exceeded. Please try again later.",
-                Collections.singletonList(new ErrorObject(
-                        TOO_MANY_REQUESTS,
-                        "rate_limit_exceeded",
-                        "Too Many Requests",
-                        "Login attempts exceeded. Please try again later.",
-                        new ErrorObject.Source("rate_limit")
-                )));
-
-        if (email != null || tenantId != null) {
-            // 2. Check the rate limit in Redis
-            if (redis.isRateLimitExceeded(email, tenantId)) {
-                response.setStatus(TOO_MANY_REQUESTS.value());
-                response.getWriter().write(objectMapper.writeValueAsString(error));
-                return;
-            }
+        if (email == null && tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 2. Record the attempt against the account and client IP windows in Redis. The remote address is the
+        // client's own: server.forward-headers-strategy resolves it from X-Forwarded-For set by a trusted proxy
+        String attemptId = UUID.randomUUID().toString();
+        String clientIp = request.getRemoteAddr();
+        long retryAfterMillis = redis.recordLoginAttempt(
+                attemptId, email, tenantId, clientIp, maxAttemptsPerAccount, maxAttemptsPerIp, windowMillis
+        );
+        if (retryAfterMillis > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999)));
+            errorResponseWriter.write(
+                    response,
+                    TOO_MANY_REQUESTS,
+                    "rate_limit_exceeded",
+                    "Too Many Requests",
+                    "Login attempts exceeded. Please try again later.",
+                    "rate_limit"
+            );
+            return;
         }
 
         // 3. Continue to the standard Spring Security filters (UsernamePasswordAuthenticationFilter)
         filterChain.doFilter(request, response);
+
+        // 4. A successful login clears the account window and takes its attempt back from the IP window, so the IP
+        // window only counts failures and users behind one NAT address do not lock each other out
+        if (email != null && response.getStatus() < 400) redis.resetLoginAttempts(attemptId, email, tenantId, clientIp);
     }
 
     public String extractBasicAuthUsername(HttpServletRequest request) {
@@ -0,0 +1,46 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ServiceUnavailableException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Hands a {@link ServiceUnavailableException} thrown by the security filters to the exception handlers, so it is
+ * answered with a 503 rather than escaping the filter chain as a 500. Spring Security only translates
+ * authentication and access-denied exceptions, and a saturated server is neither.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 5)
+public class ServiceUnavailableFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver resolver;
+
+    public ServiceUnavailableFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServiceUnavailableException e) {
+            if (response.isCommitted()) throw e;
+            resolver.resolveException(request, response, null, e);
+        }
+    }
+}
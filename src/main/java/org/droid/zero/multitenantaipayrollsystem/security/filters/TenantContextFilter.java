@@ -5,7 +5,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
 import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils;
 import org.jetbrains.annotations.NotNull;
@@ -14,13 +17,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
 @Component
 @RequiredArgsConstructor
 public class TenantContextFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
+    private final TenantRegistry tenantRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
     @Value("${api.endpoint.base-url}")
     private String baseUrl;
 
@@ -39,27 +48,42 @@ public class TenantContextFilter extends OncePerRequestFilter {
             if (isAuthLoginEndpoint) {
                 tenantId = HeaderUtils.extractTenantId(request);
             } else {
-                String jwt = HeaderUtils.extractJwt(request);
-
-                if (jwt != null && !jwt.isBlank()) {
-                    try {
-                        tenantId = tokenService.extractClaim(jwt, claims -> claims.get("tenantId", String.class));
-                    } catch (Exception e) {
-                        throw new IllegalArgumentException("Malformed JWT token: " + jwt);
-                    }
+                // The token is verified once here and stored on the request for the filters that follow
+                VerifiedToken token;
+                try {
+                    token = tokenService.resolveToken(request);
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("Malformed JWT token: " + HeaderUtils.extractJwt(request));
                 }
+
+                if (token != null) tenantId = token.tenantId();
             }
 
             if (tenantId != null && !tenantId.isBlank()) {
-                TenantContext.setTenantId(UUID.fromString(tenantId));
-            }
+                UUID tenantUuid = UUID.fromString(tenantId);
+
+                // 2. Reject unknown and inactive tenants before any password check or user query
+                Optional<TenantRegistry.RegisteredTenant> tenant = tenantRegistry.find(tenantUuid);
+                if (tenant.isEmpty()) {
+                    errorResponseWriter.write(response, UNAUTHORIZED, "tenant_not_found", "Unauthorized", "Unknown tenant.", "tenant");
+                    return;
+                }
+                if (!tenant.get().active()) {
+                    errorResponseWriter.write(response, FORBIDDEN, "tenant_inactive", "Forbidden", "This tenant has been deactivated.", "tenant");
+                    return;
+                }
 
-            // 2. Continue the chain (This goes to Spring Security next)
-            filterChain.doFilter(request, response);
+                // 3. Continue the chain (This goes to Spring Security next) with the tenant bound for its extent only,
+                // so nothing is left on the thread once the request completes
+                try (TenantContext.Binding ignored = TenantContext.bind(tenantUuid)) {
+                    filterChain.doFilter(request, response);
+                }
+            } else {
+                filterChain.doFilter(request, response);
+            }
 
         } finally {
-            // 3. Always clear context after the request finishes
-            TenantContext.clear();
+            tokenService.recordVerifications(request);
         }
     }
 }
@@ -0,0 +1,83 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.QuotaDecision;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.TenantQuotaService;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Enforces the per-tenant and per-user quotas on bearer requests, using the tenant and user of the
+ * token already verified by {@link TenantContextFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantQuotaFilter extends OncePerRequestFilter {
+
+    private final TokenService tokenService;
+    private final TenantQuotaService tenantQuotaService;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Value("${auth.tenant-quota.enabled:true}")
+    private boolean enabled = true;
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken token;
+        try {
+            token = tokenService.resolveToken(request);
+        } catch (Exception e) {
+            // Invalid tokens are rejected by the authentication entry point, not here
+            token = null;
+        }
+
+        if (token == null || token.tenantId() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        QuotaDecision decision = tenantQuotaService.tryAcquire(UUID.fromString(token.tenantId()), token.userId());
+        response.setHeader("RateLimit-Limit", Long.toString(decision.limit()));
+        response.setHeader("RateLimit-Remaining", Long.toString(decision.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+            errorResponseWriter.write(
+                    response,
+                    TOO_MANY_REQUESTS,
+                    "quota_exceeded",
+                    "Too Many Requests",
+                    "Request quota exceeded for this " + decision.scope() + ". Please try again later.",
+                    "rate_limit"
+            );
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
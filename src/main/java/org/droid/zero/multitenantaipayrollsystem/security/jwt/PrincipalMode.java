@@ -0,0 +1,16 @@
+package org.droid.zero.multitenantaipayrollsystem.security.jwt;
+
+/**
+ * How {@code JwtAuthenticationFilter} builds the principal of a bearer request.
+ */
+public enum PrincipalMode {
+    /**
+     * Loads the user through the {@code UserDetailsService} on every request.
+     */
+    DATABASE,
+
+    /**
+     * Builds a detached principal from the verified token claims; revocation relies on the security stamp.
+     */
+    CLAIMS
+}
@@ -0,0 +1,236 @@
+package org.droid.zero.multitenantaipayrollsystem.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient.TOKEN_REVOCATION_CHANNEL;
+
+/**
+ * Node-local view of the revoked token ids held in Redis.
+ * <p>
+ * Every revoked id is added to a Bloom filter, and up to {@code auth.revocation.max-exact-entries} of them
+ * to an exact map. A token the filter has never seen is accepted without touching Redis, which is the case
+ * for almost every request. Only filter hits that are missing from the exact map fall back to Redis.
+ * <p>
+ * Revocations reach other nodes through Redis pub/sub. Because pub/sub delivery is not guaranteed, the whole
+ * view is also rebuilt from Redis on startup and every {@code auth.revocation.resync-interval-millis}, which
+ * also drops expired entries. If a rebuild fails, lookups go straight to Redis until one succeeds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevokedTokenRegistry implements MessageListener {
+
+    private final RedisCacheClient redisCacheClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.revocation.bloom.expected-insertions:100000}")
+    private long expectedInsertions;
+    @Value("${auth.revocation.bloom.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+    @Value("${auth.revocation.max-exact-entries:10000}")
+    private int maxExactEntries;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean synced;
+
+    // Revocations seen while a rebuild is scanning Redis, replayed into the new snapshot; guarded by this
+    private List<Map.Entry<String, Long>> pendingDuringRebuild;
+
+    private Counter bloomNegativeLookups;
+    private Counter exactHitLookups;
+    private Counter redisLookups;
+    private Counter unsyncedLookups;
+    private Counter falsePositives;
+    private Counter redisBytesSaved;
+
+    @PostConstruct
+    void init() {
+        this.snapshot = new Snapshot(new BloomFilter(expectedInsertions, falsePositiveProbability));
+
+        this.bloomNegativeLookups = lookupCounter("bloom_negative");
+        this.exactHitLookups = lookupCounter("exact_hit");
+        this.redisLookups = lookupCounter("redis");
+        this.unsyncedLookups = lookupCounter("unsynced");
+        this.falsePositives = Counter.builder("auth.revocation.bloom.false.positives")
+                .description("Bloom filter hits for tokens that turned out not to be revoked")
+                .register(meterRegistry);
+        this.redisBytesSaved = Counter.builder("auth.revocation.redis.bytes.saved")
+                .description("Redis key bytes saved by storing revoked token ids instead of full tokens")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("auth.revocation.bloom.false.positive.rate", this, RevokedTokenRegistry::observedFalsePositiveRate)
+                .description("Share of non-revoked tokens that the Bloom filter sent to Redis")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.expected.false.positive.rate", this, r -> r.snapshot.bloom().expectedFalsePositiveProbability())
+                .description("False positive probability estimated from the fill ratio of the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.size", this, r -> r.snapshot.bloom().bitSize() / 8.0)
+                .description("Memory used by the Bloom filter bit array")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.entries", this, r -> r.snapshot.exact().size())
+                .description("Revoked token ids held in the exact local set")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.revocation.redis.lookups.skipped", bloomNegativeLookups, Counter::count)
+                .description("Revocation checks answered without a Redis round trip")
+                .register(meterRegistry);
+
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!synced) {
+            unsyncedLookups.increment();
+            return redisCacheClient.isTokenBlacklisted(tokenId);
+        }
+
+        Snapshot current = snapshot;
+        if (!current.bloom().mightContain(tokenId)) {
+            bloomNegativeLookups.increment();
+            return false;
+        }
+
+        Long expiresAt = current.exact().get(tokenId);
+        if (expiresAt != null) {
+            exactHitLookups.increment();
+            return expiresAt > System.currentTimeMillis();
+        }
+
+        redisLookups.increment();
+        boolean revoked = redisCacheClient.isTokenBlacklisted(tokenId);
+        if (!revoked) falsePositives.increment();
+        return revoked;
+    }
+
+    /**
+     * Revokes a token id until it expires, here and on every other node.
+     *
+     * @param tokenLength length of the full token, used to report the Redis memory saved by keying on the id
+     */
+    public void revoke(String tokenId, long ttlMillis, int tokenLength) {
+        if (ttlMillis <= 0) return;
+
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        redisCacheClient.blacklistToken(tokenId, ttlMillis);
+        remember(tokenId, expiresAt);
+        redisBytesSaved.increment(Math.max(0, tokenLength - tokenId.length()));
+
+        try {
+            redisCacheClient.publish(TOKEN_REVOCATION_CHANNEL, expiresAt + ":" + tokenId);
+        } catch (RuntimeException e) {
+            // The revocation is already stored in Redis; other nodes pick it up on their next rebuild
+            log.warn("failed to broadcast token revocation", e);
+        }
+    }
+
+    @Override
+    public void onMessage(@NotNull Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) return;
+        try {
+            remember(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("ignoring malformed token revocation message");
+        }
+    }
+
+    /**
+     * Replaces the local view with the revocations currently stored in Redis.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.revocation.resync-interval-millis:300000}",
+            fixedDelayString = "${auth.revocation.resync-interval-millis:300000}"
+    )
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        Map<String, String> entries;
+        try {
+            entries = redisCacheClient.scanBlacklist();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            synced = false;
+            log.warn("failed to load revoked tokens from redis, falling back to redis lookups", e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Snapshot next = new Snapshot(new BloomFilter(Math.max(expectedInsertions, entries.size() * 2L), falsePositiveProbability));
+        entries.forEach((tokenId, value) -> {
+            long expiresAt = parseExpiry(value);
+            if (expiresAt > now) next.add(tokenId, expiresAt, maxExactEntries);
+        });
+
+        synchronized (this) {
+            pendingDuringRebuild.forEach(entry -> next.add(entry.getKey(), entry.getValue(), maxExactEntries));
+            pendingDuringRebuild = null;
+            snapshot = next;
+        }
+        synced = true;
+        log.debug("loaded {} revoked tokens from redis", next.exact().size());
+    }
+
+    private synchronized void remember(String tokenId, long expiresAt) {
+        snapshot.add(tokenId, expiresAt, maxExactEntries);
+        if (pendingDuringRebuild != null) pendingDuringRebuild.add(Map.entry(tokenId, expiresAt));
+    }
+
+    private double observedFalsePositiveRate() {
+        double negatives = falsePositives.count() + bloomNegativeLookups.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("auth.revocation.lookups")
+                .description("Revocation checks by the layer that answered them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Entries written before ids were stored with their expiry only hold "1"; keep them until Redis expires them
+    private static long parseExpiry(String value) {
+        try {
+            long expiresAt = Long.parseLong(value);
+            return expiresAt > 1 ? expiresAt : Long.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private record Snapshot(BloomFilter bloom, Map<String, Long> exact) {
+        Snapshot(BloomFilter bloom) {
+            this(bloom, new ConcurrentHashMap<>());
+        }
+
+        void add(String tokenId, long expiresAt, int maxExactEntries) {
+            bloom.put(tokenId);
+            // Ids that do not fit in the exact set are still caught by the filter and confirmed in Redis
+            if (exact.size() < maxExactEntries || exact.containsKey(tokenId)) exact.put(tokenId, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.droid.zero.multitenantaipayrollsystem.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps a per-user security stamp: a version number embedded in every issued token and bumped whenever
+ * the user's roles, password, email or active state change. A token whose stamp differs from the current
+ * one is rejected, which lets bearer requests trust token claims without reloading the user.
+ * <p>
+ * The stamp lives in Redis and is fronted by a short-lived local near-cache, so a revocation reaches
+ * other nodes within {@code auth.security-stamp.near-cache-ttl-millis}. The near-cache holds at most
+ * {@code auth.security-stamp.near-cache-max-size} users.
+ */
+@Slf4j
+@Service
+public class SecurityStampService {
+
+    private final RedisCacheClient redisCacheClient;
+    private final Cache<UUID, Long> nearCache;
+
+    public SecurityStampService(
+            RedisCacheClient redisCacheClient,
+            @Value("${auth.security-stamp.near-cache-ttl-millis:5000}") long nearCacheTtlMillis,
+            @Value("${auth.security-stamp.near-cache-max-size:100000}") long nearCacheMaxSize
+    ) {
+        this.redisCacheClient = redisCacheClient;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(nearCacheTtlMillis))
+                .build();
+    }
+
+    public long currentStamp(UUID userId) {
+        return nearCache.get(userId, redisCacheClient::getSecurityStamp);
+    }
+
+    public boolean isCurrent(UUID userId, long stamp) {
+        return currentStamp(userId) == stamp;
+    }
+
+    public void bump(UUID userId) {
+        long stamp = redisCacheClient.incrementSecurityStamp(userId);
+        nearCache.invalidate(userId);
+        log.debug("security stamp of user {} bumped to {}", userId, stamp);
+    }
+
+    @TransactionalEventListener
+    public void handleUserSecurityChangedEvent(UserSecurityChangedEvent event) {
+        bump(event.userId());
+    }
+}
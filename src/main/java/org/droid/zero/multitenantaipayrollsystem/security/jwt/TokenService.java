@@ -1,11 +1,20 @@
 package org.droid.zero.multitenantaipayrollsystem.security.jwt;
 
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.InvalidBearerTokenException;
+import org.droid.zero.multitenantaipayrollsystem.system.util.HeaderUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,77 +26,174 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TokenService {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String VERIFICATION_COUNT_ATTRIBUTE = TokenService.class.getName() + ".verifications";
+
     @Value("${auth.jwt.secret}")
     private String SECRET_KEY;
     @Value("${auth.jwt.expiration.milliseconds}")
     private long JWT_EXPIRATION_MILLIS;
 
-    private final RedisCacheClient redisCacheClient;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final SecurityStampService securityStampService;
+    private final MeterRegistry meterRegistry;
+
+    // The key and parser are immutable and thread-safe, so they are built once instead of per call
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private Timer validVerificationTimer;
+    private Timer invalidVerificationTimer;
+    private Counter reusedVerificationCounter;
+    private DistributionSummary verificationsPerRequest;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        this.validVerificationTimer = Timer.builder("auth.jwt.verification")
+                .description("Time spent verifying the signature and decoding the claims of a bearer token")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidVerificationTimer = Timer.builder("auth.jwt.verification")
+                .description("Time spent verifying the signature and decoding the claims of a bearer token")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+        this.reusedVerificationCounter = Counter.builder("auth.jwt.verification.reused")
+                .description("Lookups served by the verified token already stored on the request")
+                .register(meterRegistry);
+        this.verificationsPerRequest = DistributionSummary.builder("auth.jwt.verifications.per.request")
+                .description("Number of signature verifications performed for a single bearer request")
+                .register(meterRegistry);
     }
 
-    public String generateToken(Authentication authentication, String tenantId) {
-        String username = authentication.getName();
-
-         String roles = authentication.getAuthorities().stream()
-             .map(GrantedAuthority::getAuthority)
-             .collect(Collectors.joining(","));
+    public String generateToken(Authentication authentication, String tenantId, String sessionId) {
+        UUID userId = ((User)(authentication.getPrincipal())).getId();
+        return generateToken(userId, authentication.getName(), rolesOf(authentication), tenantId, sessionId);
+    }
 
+    /**
+     * Issues an access token from already-known claims, e.g. when renewing through a refresh token.
+     *
+     * @param sessionId the refresh token family the access token belongs to, revoked together on logout
+     */
+    public String generateToken(UUID userId, String username, String roles, String tenantId, String sessionId) {
         Instant now = Instant.now();
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plus(JWT_EXPIRATION_MILLIS, ChronoUnit.MILLIS)))
-                .claim("userId", ((User)(authentication.getPrincipal())).getId())
+                .claim("userId", userId)
                 .claim("tenantId", tenantId)
                 .claim("roles", roles)
-                .signWith(getSigningKey())
+                .claim("stamp", securityStampService.currentStamp(userId))
+                .claim("sid", sessionId)
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public String rolesOf(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())
-                && !isTokenExpired(token)
-                && !redisCacheClient.isTokenBlacklisted(token)
-        );
+    /**
+     * Builds a detached principal straight from the verified claims, without a database round trip.
+     * Only the id, username and the roles of the token's tenant are populated.
+     */
+    public User toPrincipal(VerifiedToken token) {
+        Set<UserRole> roles = new HashSet<>();
+        String authorities = token.roles();
+        if (authorities != null && !authorities.isBlank()) {
+            for (String authority : authorities.split(",")) {
+                roles.add(UserRole.valueOf(authority.substring(ROLE_PREFIX.length())));
+            }
+        }
+        return User.fromTokenClaims(UUID.fromString(token.userId()), token.username(), roles);
     }
 
-    public void blacklistToken(String token, UserDetails userDetails) {
-        if (isTokenValid(token, userDetails)){
-            long ttl = extractClaim(token, Claims::getExpiration).getTime() - System.currentTimeMillis();
-            redisCacheClient.blacklistToken(token, ttl);
+    /**
+     * Returns the verified bearer token of the request, verifying it on first access only.
+     * The outcome (including a failed verification) is stored on the request, so later callers in
+     * the same request reuse it instead of paying for the HMAC check and JSON decoding again.
+     *
+     * @return the verified token, or {@code null} if the request carries no bearer token
+     * @throws InvalidBearerTokenException if the token is malformed, expired or wrongly signed
+     */
+    public VerifiedToken resolveToken(HttpServletRequest request) {
+        Object resolved = request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+        if (resolved != null) {
+            reusedVerificationCounter.increment();
+            if (resolved instanceof InvalidBearerTokenException e) throw e;
+            return (VerifiedToken) resolved;
+        }
+
+        String jwt = HeaderUtils.extractJwt(request);
+        if (jwt == null || jwt.isBlank()) return null;
+
+        Integer verifications = (Integer) request.getAttribute(VERIFICATION_COUNT_ATTRIBUTE);
+        request.setAttribute(VERIFICATION_COUNT_ATTRIBUTE, verifications == null ? 1 : verifications + 1);
+
+        try {
+            VerifiedToken token = verify(jwt);
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
+            return token;
+        } catch (InvalidBearerTokenException e) {
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Verifies the signature of a raw JWT and decodes its claims.
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        try {
+            VerifiedToken verifiedToken = new VerifiedToken(token, parser.parseSignedClaims(token).getPayload());
+            validVerificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return verifiedToken;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidVerificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new InvalidBearerTokenException(e.getMessage());
         }
     }
 
-    public  <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Records how many verifications the request needed; called once when the request completes.
+     */
+    public void recordVerifications(HttpServletRequest request) {
+        Integer verifications = (Integer) request.getAttribute(VERIFICATION_COUNT_ATTRIBUTE);
+        if (verifications != null) verificationsPerRequest.record(verifications);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return (token.username().equals(userDetails.getUsername())
+                && !token.isExpired()
+                && securityStampService.isCurrent(UUID.fromString(token.userId()), token.securityStamp())
+                && !revokedTokenRegistry.isRevoked(token.revocationKey())
+        );
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public void blacklistToken(VerifiedToken token, UserDetails userDetails) {
+        if (isTokenValid(token, userDetails)){
+            revokedTokenRegistry.revoke(token.revocationKey(), token.remainingMillis(), token.token().length());
+        }
     }
 }
@@ -0,0 +1,66 @@
+package org.droid.zero.multitenantaipayrollsystem.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A bearer token whose signature has already been verified, together with its decoded claims.
+ * Built once per request by {@link TokenService#resolveToken} and shared through a request attribute
+ * so that the filters and services downstream never parse the same JWT again.
+ */
+public record VerifiedToken(
+        String token,
+        Claims claims
+) {
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    public String username() {
+        return claims.getSubject();
+    }
+
+    public String tenantId() {
+        return claims.get("tenantId", String.class);
+    }
+
+    public String userId() {
+        return claims.get("userId", String.class);
+    }
+
+    public String jti() {
+        return claims.getId();
+    }
+
+    /**
+     * The key under which this token is revoked: its {@code jti}, or the whole token for tokens issued without one.
+     */
+    public String revocationKey() {
+        String jti = jti();
+        return jti == null ? token : jti;
+    }
+
+    public String sessionId() {
+        return claims.get("sid", String.class);
+    }
+
+    public long securityStamp() {
+        Long stamp = claims.get("stamp", Long.class);
+        return stamp == null ? 0 : stamp;
+    }
+
+    public String roles() {
+        return claims.get("roles", String.class);
+    }
+
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return expiration().before(new Date());
+    }
+
+    public long remainingMillis() {
+        return expiration().getTime() - System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,179 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many requests this node serves at once, learning the limit from the latency it observes (AIMD).
+ * <p>
+ * Each {@link RequestPriority} keeps its own no-load latency, the fastest seen over {@code min-rtt-window-millis},
+ * so requests are only compared with requests of their kind and slow password checks do not read as congestion
+ * to fast lookups. While requests complete within {@code latency-tolerance} times their baseline, and the limit is
+ * actually being used, it grows by about one per round trip; once they take longer, queueing has set in and it is
+ * cut by {@code backoff-ratio}, at most once per round trip. Requests over their priority's share of the limit are
+ * rejected rather than queued.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> drops = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, RttBaseline> baselines = new EnumMap<>(RequestPriority.class);
+
+    @Value("${overload.concurrency-limit.min-limit:8}")
+    private int minLimit = 8;
+    @Value("${overload.concurrency-limit.max-limit:400}")
+    private int maxLimit = 400;
+    @Value("${overload.concurrency-limit.latency-tolerance:2.0}")
+    private double latencyTolerance = 2.0;
+    @Value("${overload.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+    @Value("${overload.concurrency-limit.min-rtt-window-millis:30000}")
+    private long minRttWindowMillis = 30_000;
+
+    // The limit's bits, so it can be adjusted with compare-and-set
+    private final AtomicLong limit;
+    private final AtomicLong lastDecreaseNanos;
+
+    /**
+     * A request admitted by the limiter, released once it has completed.
+     */
+    @FunctionalInterface
+    public interface Permit {
+        void release();
+    }
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${overload.concurrency-limit.initial-limit:50}") int initialLimit
+    ) {
+        this(meterRegistry, initialLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, int initialLimit, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        long now = nanoClock.getAsLong();
+        this.lastDecreaseNanos = new AtomicLong(now);
+
+        Gauge.builder("http.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Requests this node currently admits at once")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests this node is currently serving")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            baselines.put(priority, new RttBaseline(now));
+            drops.put(priority, Counter.builder("http.concurrency.drops")
+                    .description("Requests rejected because the concurrency limit for their priority was reached")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits a request of the given priority, or returns {@code null} when its share of the limit is in use.
+     */
+    public Permit tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (currentLimit() * priority.share()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                drops.get(priority).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) break;
+        }
+
+        long startedNanos = nanoClock.getAsLong();
+        return () -> {
+            int concurrent = inFlight.getAndDecrement();
+            record(priority, nanoClock.getAsLong() - startedNanos, concurrent);
+        };
+    }
+
+    /**
+     * Adjusts the limit to one completed request of the given priority, which took {@code rttNanos} while
+     * {@code concurrent} requests, itself included, were being served.
+     */
+    public void record(RequestPriority priority, long rttNanos, int concurrent) {
+        if (rttNanos <= 0) return;
+
+        long nowNanos = nanoClock.getAsLong();
+        long baselineNanos = baselines.get(priority).update(rttNanos, nowNanos, TimeUnit.MILLISECONDS.toNanos(minRttWindowMillis));
+
+        if (rttNanos > baselineNanos * latencyTolerance) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (nowNanos - lastDecrease < rttNanos || !lastDecreaseNanos.compareAndSet(lastDecrease, nowNanos)) return;
+            double lowered = updateLimit(current -> Math.max(minLimit, current * backoffRatio));
+            log.debug("concurrency limit lowered to {} after a {} ms {} request",
+                    (int) lowered, TimeUnit.NANOSECONDS.toMillis(rttNanos), priority.name().toLowerCase());
+        } else {
+            // Grow only when the limit is being used; an idle node learns nothing about its capacity
+            updateLimit(current -> concurrent * 2 >= current ? Math.min(maxLimit, current + 1 / current) : current);
+        }
+    }
+
+    public int limit() {
+        return (int) currentLimit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private double currentLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    private double updateLimit(DoubleUnaryOperator adjustment) {
+        while (true) {
+            long currentBits = limit.get();
+            double updated = adjustment.applyAsDouble(Double.longBitsToDouble(currentBits));
+            if (limit.compareAndSet(currentBits, Double.doubleToLongBits(updated))) return updated;
+        }
+    }
+
+    /**
+     * The fastest round trip of one priority, restarted from the last window's minimum at the end of every window, so
+     * the baseline follows slower or faster deployments.
+     */
+    private static final class RttBaseline {
+
+        private final AtomicLong minRttNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong windowMinRttNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong windowStartedNanos;
+
+        RttBaseline(long nowNanos) {
+            this.windowStartedNanos = new AtomicLong(nowNanos);
+        }
+
+        long update(long rttNanos, long nowNanos, long windowNanos) {
+            windowMinRttNanos.accumulateAndGet(rttNanos, Math::min);
+            long baseline = minRttNanos.accumulateAndGet(rttNanos, Math::min);
+
+            long startedNanos = windowStartedNanos.get();
+            if (nowNanos - startedNanos >= windowNanos && windowStartedNanos.compareAndSet(startedNanos, nowNanos)) {
+                baseline = windowMinRttNanos.getAndSet(Long.MAX_VALUE);
+                minRttNanos.set(baseline);
+            }
+            return baseline;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+/**
+ * Outcome of a quota check, carrying the values of the bucket closest to its limit for the
+ * {@code RateLimit-*} response headers.
+ *
+ * @param scope which bucket rejected the request ({@code tenant} or {@code user}), or {@code null} when allowed
+ */
+public record QuotaDecision(
+        boolean allowed,
+        String scope,
+        long limit,
+        long remaining,
+        long resetSeconds,
+        long retryAfterSeconds
+) {
+}
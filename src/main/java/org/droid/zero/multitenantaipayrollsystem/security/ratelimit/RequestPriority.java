@@ -0,0 +1,24 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+/**
+ * How early a request is shed when the server approaches its concurrency limit. Each class may only use its share
+ * of the limit, so lower classes are turned away first and the remaining capacity is kept for the higher ones.
+ */
+public enum RequestPriority {
+    /** Logins, token refreshes and payroll approvals; may use the whole limit. */
+    CRITICAL(1.0),
+    /** Writes that are not critical. */
+    NORMAL(0.9),
+    /** Reads, i.e. lookups, listings and reports. */
+    SHEDDABLE(0.75);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+}
@@ -0,0 +1,152 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantTierChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tenant and per-user request quotas for the bearer API, sized by the tenant's {@link TenantTier}.
+ * <p>
+ * Buckets live in process, so a quota check never leaves the JVM. Every
+ * {@code auth.tenant-quota.sync-interval-millis} the usage of each node is added to a shared counter in Redis,
+ * and what other nodes consumed in the meantime is deducted from the local buckets. Between two
+ * reconciliations a tenant can therefore exceed its quota by at most one interval's worth of requests per node.
+ */
+@Slf4j
+@Service
+public class TenantQuotaService {
+
+    private static final String TENANT_SCOPE = "tenant";
+    private static final String USER_SCOPE = "user";
+
+    private final TenantRegistry tenantRegistry;
+    private final RedisCacheClient redisCacheClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.tenant-quota.idle-bucket-ttl-millis:300000}")
+    private long idleBucketTtlMillis;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public TenantQuotaService(TenantRegistry tenantRegistry, RedisCacheClient redisCacheClient, MeterRegistry meterRegistry) {
+        this.tenantRegistry = tenantRegistry;
+        this.redisCacheClient = redisCacheClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public QuotaDecision tryAcquire(UUID tenantId, String userId) {
+        TenantTier tier = tierOf(tenantId);
+        long now = System.nanoTime();
+
+        TokenBucket tenantBucket = buckets.computeIfAbsent(
+                TENANT_SCOPE + ":" + tenantId,
+                key -> new TokenBucket(tier.tenantCapacity(), tier.tenantRefillPerSecond(), now)
+        );
+        if (!tenantBucket.tryConsume(now)) return reject(tier, TENANT_SCOPE, tenantBucket, now);
+
+        if (userId == null) return allow(tenantBucket, now);
+
+        TokenBucket userBucket = buckets.computeIfAbsent(
+                USER_SCOPE + ":" + tenantId + ":" + userId,
+                key -> new TokenBucket(tier.userCapacity(), tier.userRefillPerSecond(), now)
+        );
+        if (!userBucket.tryConsume(now)) {
+            // The request is not served, so it must not count against the tenant either
+            tenantBucket.refund();
+            return reject(tier, USER_SCOPE, userBucket, now);
+        }
+
+        // Report the bucket that is closer to running out
+        return userBucket.remaining() < tenantBucket.remaining() ? allow(userBucket, now) : allow(tenantBucket, now);
+    }
+
+    /**
+     * Pushes the local usage of every active bucket to Redis and applies the usage of the other nodes.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.tenant-quota.sync-interval-millis:1000}",
+            fixedDelayString = "${auth.tenant-quota.sync-interval-millis:1000}"
+    )
+    public void reconcile() {
+        long idleBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleBucketTtlMillis);
+        buckets.values().removeIf(bucket -> bucket.lastUsedNanos() < idleBefore);
+        if (buckets.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<TokenBucket> syncing = new ArrayList<>(buckets.size());
+        List<Long> deltas = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> {
+            keys.add(key);
+            syncing.add(bucket);
+            deltas.add(bucket.drainConsumed());
+        });
+
+        try {
+            List<Long> totals = redisCacheClient.addQuotaUsage(keys, deltas, 2 * idleBucketTtlMillis);
+            for (int i = 0; i < syncing.size(); i++) {
+                syncing.get(i).applyGlobalUsage(totals.get(i), deltas.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < syncing.size(); i++) {
+                syncing.get(i).restoreConsumed(deltas.get(i));
+            }
+            log.warn("failed to reconcile tenant quotas with redis, enforcing local buckets only", e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void handleTenantTierChangedEvent(TenantTierChangedEvent event) {
+        buckets.keySet().removeIf(key ->
+                key.equals(TENANT_SCOPE + ":" + event.tenantId())
+                        || key.startsWith(USER_SCOPE + ":" + event.tenantId() + ":"));
+    }
+
+    private TenantTier tierOf(UUID tenantId) {
+        return tenantRegistry.find(tenantId)
+                .map(TenantRegistry.RegisteredTenant::tier)
+                .orElse(TenantTier.STANDARD);
+    }
+
+    private QuotaDecision allow(TokenBucket bucket, long now) {
+        return new QuotaDecision(
+                true,
+                null,
+                bucket.capacity(),
+                bucket.remaining(),
+                toSeconds(bucket.nanosUntilFull(now)),
+                0
+        );
+    }
+
+    private QuotaDecision reject(TenantTier tier, String scope, TokenBucket bucket, long now) {
+        // Tagged by tier rather than tenant, so the number of meters stays fixed however many tenants there are
+        meterRegistry.counter("tenant.quota.rejections", "tier", tier.name(), "scope", scope).increment();
+        long retryAfter = Math.max(1, toSeconds(bucket.nanosUntilAvailable(now)));
+        return new QuotaDecision(
+                false,
+                scope,
+                bucket.capacity(),
+                0,
+                toSeconds(bucket.nanosUntilFull(now)),
+                retryAfter
+        );
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,98 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-process token bucket. Besides serving local requests it tracks how many tokens were consumed since
+ * the last reconciliation, and deducts what other nodes consumed once their usage is known.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long consumedSinceSync;
+    private long lastSeenGlobalUsage = -1;
+    private volatile long lastUsedNanos;
+
+    TokenBucket(long capacity, long refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastUsedNanos = nowNanos;
+    }
+
+    synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        lastUsedNanos = nowNanos;
+        if (tokens < 1) return false;
+        tokens -= 1;
+        consumedSinceSync++;
+        return true;
+    }
+
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+        consumedSinceSync--;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    synchronized long remaining() {
+        return (long) Math.floor(tokens);
+    }
+
+    synchronized long nanosUntilAvailable(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    synchronized long nanosUntilFull(long nowNanos) {
+        refill(nowNanos);
+        return (long) Math.ceil((capacity - tokens) / tokensPerNano);
+    }
+
+    long lastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    /**
+     * Returns the tokens consumed locally since the last call and starts counting again from zero.
+     */
+    synchronized long drainConsumed() {
+        long consumed = consumedSinceSync;
+        consumedSinceSync = 0;
+        return consumed;
+    }
+
+    /**
+     * Puts back a drained count whose reconciliation failed, so it is reported on the next attempt.
+     */
+    synchronized void restoreConsumed(long consumed) {
+        consumedSinceSync += consumed;
+    }
+
+    /**
+     * Applies the cluster-wide usage counter returned after adding {@code flushed} local tokens to it.
+     * Whatever the counter grew by beyond our own contribution was consumed by other nodes.
+     */
+    synchronized void applyGlobalUsage(long globalUsage, long flushed) {
+        if (lastSeenGlobalUsage >= 0 && globalUsage >= lastSeenGlobalUsage) {
+            long consumedElsewhere = globalUsage - lastSeenGlobalUsage - flushed;
+            if (consumedElsewhere > 0) tokens = Math.max(0, tokens - consumedElsewhere);
+        }
+        lastSeenGlobalUsage = globalUsage;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed <= 0) return;
+        tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -58,69 +58,68 @@ public class DBDataInitializer {
             UUID tenantId = tenant.getId();
             log.info("✅ Successfully Created Tenant Data");
 
-            TenantContext.setTenantId(tenantId);
-
-
-            log.info("➡️ Seeding User Data...");
-            User superAdminUser = new User(
-                    "John",
-                    "Doe",
-                    "jDoe@email.com",
-                    Set.of(UserRole.SUPER_ADMIN),
-                    new UserCredentials(
-                            "jDoe@email.com",
-                            passwordEncoder.encode("password")
-                    ),
-                    tenantId
-            );
-
-
-            User tenantAdminUser = new User(
-                    "Sence",
-                    "Montana",
-                    "sMontana@email.com",
-                    Set.of(UserRole.TENANT_ADMIN),
-                    new UserCredentials(
-                            "sMontana@email.com",
-                            passwordEncoder.encode("password")
-                    ),
-                    tenantId
-            );
-
-            User hrUser = new User(
-                    "Jude",
-                    "Luanne",
-                    "jLuanne@email.com",
-                    Set.of(UserRole.HR_OFFICER),
-                    new UserCredentials(
-                            "jLuanne@email.com",
-                            passwordEncoder.encode("password")
-                    ),
-                    tenantId
-            );
-
-            User employeeUser = new User(
-                    "Amar",
-                    "Tariq",
-                    "aTariq@email.com",
-                    Set.of(UserRole.EMPLOYEE),
-                    new UserCredentials(
-                            "aTariq@email.com",
-                            passwordEncoder.encode("password")
-                    ),
-                    tenantId
-            );
-
-            userRepository.save(superAdminUser);
-            userRepository.save(tenantAdminUser);
-            userRepository.save(hrUser);
-            userRepository.save(employeeUser);
-
-            TenantContext.clear();
-
-            log.info("✅ Successfully Created User Data");
+            TenantContext.runAsTenant(tenantId, () -> seedUsers(tenantId));
 
             log.info("✅ Database initialization completed");
         });
     }
+
+    private void seedUsers(UUID tenantId) {
+        log.info("➡️ Seeding User Data...");
+        User superAdminUser = new User(
+                "John",
+                "Doe",
+                "jDoe@email.com",
+                Set.of(UserRole.SUPER_ADMIN),
+                new UserCredentials(
+                        "jDoe@email.com",
+                        passwordEncoder.encode("password")
+                ),
+                tenantId
+        );
+
+
+        User tenantAdminUser = new User(
+                "Sence",
+                "Montana",
+                "sMontana@email.com",
+                Set.of(UserRole.TENANT_ADMIN),
+                new UserCredentials(
+                        "sMontana@email.com",
+                        passwordEncoder.encode("password")
+                ),
+                tenantId
+        );
+
+        User hrUser = new User(
+                "Jude",
+                "Luanne",
+                "jLuanne@email.com",
+                Set.of(UserRole.HR_OFFICER),
+                new UserCredentials(
+                        "jLuanne@email.com",
+                        passwordEncoder.encode("password")
+                ),
+                tenantId
+        );
+
+        User employeeUser = new User(
+                "Amar",
+                "Tariq",
+                "aTariq@email.com",
+                Set.of(UserRole.EMPLOYEE),
+                new UserCredentials(
+                        "aTariq@email.com",
+                        passwordEncoder.encode("password")
+                ),
+                tenantId
+        );
+
+        userRepository.save(superAdminUser);
+        userRepository.save(tenantAdminUser);
+        userRepository.save(hrUser);
+        userRepository.save(employeeUser);
+
+        log.info("✅ Successfully Created User Data");
+    }
 }
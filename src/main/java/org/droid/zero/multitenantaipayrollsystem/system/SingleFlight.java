@@ -0,0 +1,124 @@
+package org.droid.zero.multitenantaipayrollsystem.system;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantTierChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantUpdatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.TENANT;
+
+/**
+ * Collapses concurrent identical reads on this node into one load. The first caller for a (tenant, resource, id)
+ * runs the load, and callers arriving while it is in flight wait for it and share its result or exception.
+ * Nothing is kept once the load completes, so this is not a cache.
+ * <p>
+ * A write must {@link #forget} what it changed, otherwise a read arriving after the write commits could still join
+ * a load that started before it.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<ResourceType, Counter> loads = new EnumMap<>(ResourceType.class);
+    private final Map<ResourceType, Counter> collapsed = new EnumMap<>(ResourceType.class);
+
+    @Value("${single-flight.enabled:true}")
+    private boolean enabled = true;
+
+    private record Key(UUID tenantId, ResourceType resource, Object id) {}
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        for (ResourceType resource : ResourceType.values()) {
+            String tag = resource.name().toLowerCase();
+            loads.put(resource, Counter.builder("single.flight.loads")
+                    .description("Reads that ran their own load")
+                    .tag("resource", tag)
+                    .register(meterRegistry));
+            collapsed.put(resource, Counter.builder("single.flight.collapsed")
+                    .description("Reads that shared the result of an identical load already in flight")
+                    .tag("resource", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(ResourceType resource, Object id, Supplier<T> loader) {
+        if (!enabled) return loader.get();
+
+        Key key = new Key(TenantContext.getTenantId(), resource, id);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            collapsed.get(resource).increment();
+            return (T) await(existing);
+        }
+
+        loads.get(resource).increment();
+        try {
+            T result = loader.get();
+            inFlight.remove(key, call);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops later reads of the resource, in any tenant, from joining a load already in flight. Inside a transaction
+     * this happens once it completes, as the change is not visible to new loads before then.
+     */
+    public void forget(ResourceType resource, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(resource, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(resource, id);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void handleTenantUpdatedEvent(TenantUpdatedEvent event) {
+        evict(TENANT, event.tenantId());
+    }
+
+    @TransactionalEventListener
+    public void handleTenantTierChangedEvent(TenantTierChangedEvent event) {
+        evict(TENANT, event.tenantId());
+    }
+
+    // Readers already waiting still get the load they joined
+    private void evict(ResourceType resource, Object id) {
+        inFlight.keySet().removeIf(key -> key.resource() == resource && key.id().equals(id));
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.droid.zero.multitenantaipayrollsystem.system;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of running an action across several tenants with {@link TenantExecutor#executeForEachTenant}.
+ * A tenant appears in exactly one of the two maps.
+ */
+public record TenantBatchResult<T>(Map<UUID, T> results, Map<UUID, Throwable> failures) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
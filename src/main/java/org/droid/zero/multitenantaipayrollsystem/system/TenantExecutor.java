@@ -1,19 +1,34 @@
 package org.droid.zero.multitenantaipayrollsystem.system;
 
+import lombok.extern.slf4j.Slf4j;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+@Slf4j
 @Component
 public class TenantExecutor {
 
     private final TransactionTemplate transactionTemplate;
 
+    // Every tenant in a fan-out holds a pooled connection for its transaction, keep this below the pool size
+    @Value("${tenant.fan-out.parallelism:4}")
+    private int defaultParallelism = 4;
+
     // Inject the PlatformTransactionManager to build a template with REQUIRES_NEW
     public TenantExecutor(PlatformTransactionManager transactionManager) {
         this.transactionTemplate = new TransactionTemplate(transactionManager);
@@ -21,24 +36,9 @@ public class TenantExecutor {
     }
 
     public <T> T executeAsTenant(UUID targetTenantId, Supplier<T> action) {
-        UUID originalTenantId = TenantContext.getTenantId();
-
-        try {
-            // 1. Switch the Context FIRST
-            TenantContext.setTenantId(targetTenantId);
-
-            // 2. NOW start the Transaction.
-            // Hibernate will resolve the Tenant ID *now*, seeing the correct new ID.
-            return transactionTemplate.execute(status -> action.get());
-
-        } finally {
-            // 3. Cleanup
-            if (originalTenantId != null) {
-                TenantContext.setTenantId(originalTenantId);
-            } else {
-                TenantContext.clear();
-            }
-        }
+        // Bind the tenant FIRST and only then start the transaction, so Hibernate resolves the new tenant.
+        // The caller's tenant is restored when the scope ends.
+        return TenantContext.callAsTenant(targetTenantId, () -> transactionTemplate.execute(status -> action.get()));
     }
 
     public void runAsTenant(UUID targetTenantId, Runnable action) {
@@ -47,4 +47,51 @@ public class TenantExecutor {
             return null;
         });
     }
-}
\ No newline at end of file
+
+    public <T> TenantBatchResult<T> executeForEachTenant(Collection<UUID> tenantIds, Function<UUID, T> action) {
+        return executeForEachTenant(tenantIds, defaultParallelism, action);
+    }
+
+    /**
+     * Runs the action for every tenant, at most {@code parallelism} tenants at a time, each in its own
+     * {@code REQUIRES_NEW} transaction with the tenant bound. The caller's security context is carried over.
+     * <p>
+     * A failing tenant rolls back its own transaction only and does not stop the others; its exception is
+     * collected in {@link TenantBatchResult#failures()}. Blocks until every tenant has finished.
+     */
+    public <T> TenantBatchResult<T> executeForEachTenant(Collection<UUID> tenantIds, int parallelism, Function<UUID, T> action) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+
+        // Synchronized rather than concurrent maps, an action is allowed to return null
+        Map<UUID, T> results = Collections.synchronizedMap(new HashMap<>());
+        Map<UUID, Throwable> failures = Collections.synchronizedMap(new HashMap<>());
+        Semaphore permits = new Semaphore(parallelism);
+
+        // Tasks wait on I/O, so one virtual thread each; the semaphore keeps at most `parallelism` of them alive
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (UUID tenantId : tenantIds) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.put(tenantId, e);
+                    continue;
+                }
+
+                executor.execute(TenantContext.wrap(() -> {
+                    try {
+                        results.put(tenantId, executeAsTenant(tenantId, () -> action.apply(tenantId)));
+                    } catch (Throwable e) {
+                        failures.put(tenantId, e);
+                        log.warn("tenant {} failed in fan-out", tenantId, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        log.debug("fan-out over {} tenants finished with {} failures", tenantIds.size(), failures.size());
+        return new TenantBatchResult<>(Collections.unmodifiableMap(results), Collections.unmodifiableMap(failures));
+    }
+}
@@ -0,0 +1,13 @@
+package org.droid.zero.multitenantaipayrollsystem.system.api;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page, and {@code total} is only
+ * counted when the caller asks for it.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        Long total
+) {}
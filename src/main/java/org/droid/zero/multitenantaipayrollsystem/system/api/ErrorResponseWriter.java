@@ -0,0 +1,40 @@
+package org.droid.zero.multitenantaipayrollsystem.system.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Writes the standard error envelope straight to the response, for filters that reject a request
+ * before it reaches the controllers and {@code ExceptionHandlerAdvice}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public void write(HttpServletResponse response, HttpStatus status, String code, String title, String detail, String source) throws IOException {
+        var error = ResponseFactory.error(
+                detail,
+                Collections.singletonList(new ErrorObject(
+                        status,
+                        code,
+                        title,
+                        detail,
+                        new ErrorObject.Source(source)
+                )));
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), error);
+    }
+}
@@ -0,0 +1,30 @@
+package org.droid.zero.multitenantaipayrollsystem.system.api;
+
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * The (created_at, id) of the last row of a page, which the next page starts after. Handed to clients as an opaque
+ * URL-safe string.
+ */
+public record KeysetCursor(Instant createdAt, UUID id) {
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(',');
+            return new KeysetCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("The provided cursor is invalid.");
+        }
+    }
+}
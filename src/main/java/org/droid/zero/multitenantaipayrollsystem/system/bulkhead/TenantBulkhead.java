@@ -0,0 +1,138 @@
+package org.droid.zero.multitenantaipayrollsystem.system.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many database transactions each tenant holds open at once on this node, so one tenant's import or
+ * report cannot take every pooled connection and stall the other tenants.
+ * <p>
+ * The limit comes from the tenant's {@link TenantTier} and can be overridden per tenant with the
+ * {@value #MAX_CONCURRENT_TRANSACTIONS_SETTING} setting. A transaction over the limit waits up to
+ * {@code tenant.bulkhead.max-wait-millis} for a permit and is then rejected with {@link TooManyRequestsException}.
+ * Work without a tenant, or on behalf of the root tenant, is not limited.
+ */
+@Slf4j
+@Component
+public class TenantBulkhead {
+
+    public static final String MAX_CONCURRENT_TRANSACTIONS_SETTING = "db.max-concurrent-transactions";
+
+    private final TenantRegistry tenantRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tenant.bulkhead.enabled:true}")
+    private boolean enabled = true;
+    @Value("${tenant.bulkhead.max-wait-millis:100}")
+    private long maxWaitMillis = 100;
+
+    private final Map<UUID, Compartment> compartments = new ConcurrentHashMap<>();
+
+    /**
+     * A held permit, returned to its tenant's compartment when closed.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        Permit NONE = () -> {};
+
+        @Override
+        void close();
+    }
+
+    public TenantBulkhead(TenantRegistry tenantRegistry, MeterRegistry meterRegistry) {
+        this.tenantRegistry = tenantRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Permit acquire(UUID tenantId) {
+        if (!enabled || tenantId == null || tenantId.equals(TenantContext.getRootTenantId())) return Permit.NONE;
+
+        Compartment compartment = compartmentOf(tenantId);
+        long startedAt = System.nanoTime();
+        boolean acquired = compartment.permits.tryAcquire();
+        if (!acquired && maxWaitMillis > 0) {
+            try {
+                acquired = compartment.permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        compartment.waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            compartment.rejections.increment();
+            log.debug("tenant {} is at its limit of {} concurrent transactions", tenantId, compartment.limit);
+            throw new TooManyRequestsException("Too many concurrent database operations for this tenant. Please try again later.");
+        }
+        return compartment.permits::release;
+    }
+
+    // A compartment is replaced when the tenant's limit changes. Transactions still holding permits of the old one
+    // release them there, so the tenant can briefly exceed the new limit by the transactions that were in flight.
+    private Compartment compartmentOf(UUID tenantId) {
+        int limit = limitOf(tenantId);
+        Compartment compartment = compartments.get(tenantId);
+        if (compartment != null && compartment.limit == limit) return compartment;
+
+        return compartments.compute(tenantId, (id, existing) ->
+                existing != null && existing.limit == limit ? existing : newCompartment(id, limit));
+    }
+
+    // Only the tenants the registry already holds: a database lookup here would open a transaction of its own
+    private int limitOf(UUID tenantId) {
+        TenantRegistry.RegisteredTenant tenant = tenantRegistry.peek(tenantId).orElse(null);
+        if (tenant == null) return TenantTier.STANDARD.maxConcurrentTransactions();
+
+        String override = tenant.settings().get(MAX_CONCURRENT_TRANSACTIONS_SETTING);
+        if (override != null) {
+            try {
+                return Math.max(1, Integer.parseInt(override.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("ignoring invalid {} setting for tenant {}: {}", MAX_CONCURRENT_TRANSACTIONS_SETTING, tenantId, override);
+            }
+        }
+        return tenant.tier().maxConcurrentTransactions();
+    }
+
+    private Compartment newCompartment(UUID tenantId, int limit) {
+        String tenant = tenantId.toString();
+        // Registered once per tenant and read through the map, so it follows the compartment across resizes
+        Gauge.builder("tenant.bulkhead.permits.in.use", compartments, all -> {
+                    Compartment current = all.get(tenantId);
+                    return current == null ? 0 : current.limit - current.permits.availablePermits();
+                })
+                .description("Database transactions the tenant currently holds open")
+                .tag("tenant", tenant)
+                .register(meterRegistry);
+
+        return new Compartment(
+                limit,
+                new Semaphore(limit, true),
+                Timer.builder("tenant.bulkhead.wait")
+                        .description("Time a transaction waited for one of its tenant's permits")
+                        .tag("tenant", tenant)
+                        .register(meterRegistry),
+                Counter.builder("tenant.bulkhead.rejections")
+                        .description("Transactions rejected because their tenant was at its concurrency limit")
+                        .tag("tenant", tenant)
+                        .register(meterRegistry)
+        );
+    }
+
+    private record Compartment(int limit, Semaphore permits, Timer waitTimer, Counter rejections) {}
+}
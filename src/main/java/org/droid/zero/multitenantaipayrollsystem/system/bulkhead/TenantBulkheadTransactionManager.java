@@ -0,0 +1,81 @@
+package org.droid.zero.multitenantaipayrollsystem.system.bulkhead;
+
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A {@link JpaTransactionManager} that takes a {@link TenantBulkhead} permit for the bound tenant before the
+ * outermost physical transaction on a thread and returns it once that transaction has completed. Joining an existing
+ * transaction takes no permit, and neither does a {@code REQUIRES_NEW} transaction for a tenant the thread already
+ * holds a permit for: it cannot run until the nested transaction ends, so a second permit would only let a tenant
+ * with a small limit block itself.
+ * <p>
+ * This covers {@code @Transactional} methods, repository calls and {@code TenantExecutor} alike, since they all go
+ * through the application's transaction manager.
+ * <p>
+ * It also tells the {@link ReadReplicaRouter} whether each new transaction is read-only before the transaction
+ * opens its connection, and which callers have just committed a write.
+ */
+public class TenantBulkheadTransactionManager extends JpaTransactionManager {
+
+    private final TenantBulkhead tenantBulkhead;
+    private final ReadReplicaRouter readReplicaRouter;
+    // Begin and cleanup nest on the thread that owns the transaction, so the innermost permit is released first
+    private final ThreadLocal<Deque<HeldPermit>> heldPermits = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private record HeldPermit(UUID tenantId, TenantBulkhead.Permit permit) {}
+
+    public TenantBulkheadTransactionManager(TenantBulkhead tenantBulkhead, ReadReplicaRouter readReplicaRouter) {
+        this.tenantBulkhead = tenantBulkhead;
+        this.readReplicaRouter = readReplicaRouter;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        UUID tenantId = TenantContext.getTenantId();
+        TenantBulkhead.Permit permit = holdsPermitFor(tenantId) ? TenantBulkhead.Permit.NONE : tenantBulkhead.acquire(tenantId);
+        readReplicaRouter.transactionStarted(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            readReplicaRouter.transactionEnded();
+            permit.close();
+            if (heldPermits.get().isEmpty()) heldPermits.remove();
+            throw e;
+        }
+        heldPermits.get().push(new HeldPermit(tenantId, permit));
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) readReplicaRouter.writeCommitted();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            readReplicaRouter.transactionEnded();
+            Deque<HeldPermit> permits = heldPermits.get();
+            if (!permits.isEmpty()) permits.pop().permit().close();
+            if (permits.isEmpty()) heldPermits.remove();
+        }
+    }
+
+    private boolean holdsPermitFor(UUID tenantId) {
+        for (HeldPermit held : heldPermits.get()) {
+            if (Objects.equals(held.tenantId(), tenantId)) return true;
+        }
+        return false;
+    }
+}
@@ -1,26 +1,163 @@
 package org.droid.zero.multitenantaipayrollsystem.system.context;
 
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
-public class TenantContext {
+/**
+ * Carries the tenant of the current unit of work.
+ * <p>
+ * The tenant is bound for the extent of a call ({@link #runAsTenant}, {@link #callAsTenant}) or of a
+ * try-with-resources block ({@link #bind}) and the enclosing binding is restored when it ends, so nothing has to
+ * be cleared by hand and a pooled or virtual thread never sees a tenant left behind by a previous task. Bindings are immutable {@link Scope} values, which
+ * {@link #wrap(Runnable)} captures together with the security context to hand them to child tasks.
+ * <p>
+ * This is the semantics of {@code ScopedValue}, which is still a preview API on Java 21; the binding is kept in a
+ * thread-local until the project can move to it.
+ */
+public final class TenantContext {
 
-    private static final ThreadLocal<UUID> currentTenant = new ThreadLocal<>();
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
     private static final UUID rootTenant = UUID.randomUUID();
 
-    public static void setTenantId(UUID tenantId) {
-        currentTenant.set(tenantId);
+    /**
+     * An immutable tenant binding.
+     *
+     * @param tenantChecksDisabled whether {@code TenantScopedEntityListener} skips its cross-tenant check
+     */
+    public record Scope(UUID tenantId, boolean tenantChecksDisabled) {}
+
+    @FunctionalInterface
+    public interface ScopedAction<E extends Exception> {
+        void run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface ScopedCall<T, E extends Exception> {
+        T call() throws E;
     }
 
+    private TenantContext() {}
+
     public static UUID getTenantId() {
-        return currentTenant.get();
+        Scope scope = currentScope.get();
+        return scope == null ? null : scope.tenantId();
     }
 
     public static UUID getRootTenantId() {
         return rootTenant;
     }
 
-    // Critical: Always clear to prevent memory leaks in thread pools
+    public static boolean tenantChecksDisabled() {
+        Scope scope = currentScope.get();
+        return scope != null && scope.tenantChecksDisabled();
+    }
+
+    /**
+     * Binds the tenant until the returned binding is closed, for callers whose work throws more than one checked
+     * exception. Whether tenant checks are disabled is inherited from the caller.
+     */
+    public static Binding bind(UUID tenantId) {
+        return open(new Scope(tenantId, tenantChecksDisabled()));
+    }
+
+    /**
+     * Runs the action with the given tenant bound. Whether tenant checks are disabled is inherited from the caller.
+     */
+    public static <E extends Exception> void runAsTenant(UUID tenantId, ScopedAction<E> action) throws E {
+        callIn(new Scope(tenantId, tenantChecksDisabled()), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T, E extends Exception> T callAsTenant(UUID tenantId, ScopedCall<T, E> action) throws E {
+        return callIn(new Scope(tenantId, tenantChecksDisabled()), action);
+    }
+
+    public static <E extends Exception> void runWithoutTenantChecks(ScopedAction<E> action) throws E {
+        callIn(new Scope(getTenantId(), true), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Binds the tenant for the rest of the thread's current task, for callers that cannot wrap their work in a
+     * scope such as test fixtures. Request handling must use a scoped binding instead.
+     */
+    public static void setTenantId(UUID tenantId) {
+        currentScope.set(new Scope(tenantId, tenantChecksDisabled()));
+    }
+
     public static void clear() {
-        currentTenant.remove();
+        currentScope.remove();
+    }
+
+    /**
+     * Captures the current tenant binding and security context so the task sees them on whichever thread runs it.
+     */
+    public static Runnable wrap(Runnable task) {
+        Scope scope = currentScope.get();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                callIn(scope, () -> {
+                    task.run();
+                    return null;
+                });
+            } finally {
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Scope scope = currentScope.get();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return callIn(scope, task::call);
+            } finally {
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+
+    private static <T, E extends Exception> T callIn(Scope scope, ScopedCall<T, E> action) throws E {
+        try (Binding ignored = open(scope)) {
+            return action.call();
+        }
+    }
+
+    private static Binding open(Scope scope) {
+        Scope previous = currentScope.get();
+        if (scope == null) currentScope.remove();
+        else currentScope.set(scope);
+        return new Binding(previous);
+    }
+
+    /**
+     * Restores the enclosing binding when closed.
+     */
+    public static final class Binding implements AutoCloseable {
+
+        private final Scope previous;
+
+        private Binding(Scope previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) currentScope.remove();
+            else currentScope.set(previous);
+        }
     }
 }
@@ -21,7 +21,7 @@ public class UserContext {
 
     public static boolean hasRole(UserRole role) {
         User user = getCurrentUser();
-        return user != null && user.getActiveRoles().stream()
-                .anyMatch(a -> a.equals(role));
+        // The active roles are resolved once when the principal is built, so this is a set lookup
+        return user != null && user.getActiveRoles().contains(role);
     }
 }
@@ -1,10 +1,12 @@
 package org.droid.zero.multitenantaipayrollsystem.system.exceptions;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorObject;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorObject.Source;
 import org.droid.zero.multitenantaipayrollsystem.system.api.ResponseFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -91,6 +93,22 @@ public class ExceptionHandlerAdvice {
         );
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(BAD_REQUEST)
+    public ResponseFactory<Object> handleInvalidCursorException(InvalidCursorException e) {
+        ErrorObject error = new ErrorObject(
+                BAD_REQUEST,
+                "invalid_format",
+                "Validation Failed",
+                e.getMessage(),
+                new Source("cursor")
+        );
+        return ResponseFactory.error(
+                e.getMessage(),
+                Collections.singletonList(error)
+        );
+    }
+
     @ExceptionHandler(DuplicateResourceException.class)
     @ResponseStatus(CONFLICT)
     public ResponseFactory<Object> handleDuplicateResourceException(DuplicateResourceException e) {
@@ -109,6 +127,22 @@ public class ExceptionHandlerAdvice {
         return ResponseFactory.error(e.getMessage(), errors);
     }
 
+    @ExceptionHandler(ResourceConflictException.class)
+    @ResponseStatus(CONFLICT)
+    public ResponseFactory<Object> handleResourceConflictException(ResourceConflictException e) {
+        ErrorObject error = new ErrorObject(
+                CONFLICT,
+                "resource_conflict",
+                "Conflict",
+                e.getMessage(),
+                null
+        );
+        return ResponseFactory.error(
+                e.getMessage(),
+                Collections.singletonList(error)
+        );
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(UNPROCESSABLE_ENTITY)
     public ResponseFactory<Object> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
@@ -194,6 +228,22 @@ public class ExceptionHandlerAdvice {
         );
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    public ResponseFactory<Object> handleServiceUnavailableException(ServiceUnavailableException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ResponseFactory.error(
+                ex.getMessage(),
+                Collections.singletonList(new ErrorObject(
+                        SERVICE_UNAVAILABLE,
+                        "service_unavailable",
+                        "Service Unavailable",
+                        ex.getMessage(),
+                        new Source("server")
+                ))
+        );
+    }
+
     @ExceptionHandler({
             AuthorizationDeniedException.class,
             AccessDeniedException.class
@@ -0,0 +1,7 @@
+package org.droid.zero.multitenantaipayrollsystem.system.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
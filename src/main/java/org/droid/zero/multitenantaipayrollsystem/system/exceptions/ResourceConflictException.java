@@ -0,0 +1,10 @@
+package org.droid.zero.multitenantaipayrollsystem.system.exceptions;
+
+/**
+ * The resource is being changed by another operation that must finish first; the caller can retry later.
+ */
+public class ResourceConflictException extends RuntimeException {
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
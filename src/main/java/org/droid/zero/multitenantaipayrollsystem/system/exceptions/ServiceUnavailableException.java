@@ -0,0 +1,12 @@
+package org.droid.zero.multitenantaipayrollsystem.system.exceptions;
+
+/**
+ * Thrown when a request is shed because the server is temporarily saturated. Mapped to a 503 by
+ * {@link ExceptionHandlerAdvice}; when raised inside the security filters, such as while checking a password at
+ * login, it is routed there by {@code ServiceUnavailableFilter}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,126 @@
+package org.droid.zero.multitenantaipayrollsystem.system.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.context.UserContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether the connection a transaction is about to open goes to the primary or to the read replica. Only
+ * read-only transactions go to the replica, and only while it is at most {@code datasource.replica.max-lag-millis}
+ * behind. A caller that committed a write in the last {@code datasource.replica.read-your-writes-millis} keeps
+ * reading from the primary, so it sees its own write; callers are told apart by user, or by tenant when there is
+ * no signed-in user. Lookups made before either is known, such as resolving the tenant or the user of a request
+ * being authenticated, run in {@link #callOnPrimary} instead.
+ * <p>
+ * Spring only marks a transaction read-only once it has begun, after Hibernate may have opened its connection, so
+ * the transaction manager reports each transaction here before beginning it. Without a configured replica every
+ * connection goes to the primary.
+ */
+@Component
+public class ReadReplicaRouter {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    @Value("${datasource.replica.max-lag-millis:1000}")
+    private long maxLagMillis = 1000;
+    @Value("${datasource.replica.read-your-writes-millis:5000}")
+    private long readYourWritesMillis = 5000;
+
+    // Whether each transaction this thread has begun is read-only, innermost first
+    private final ThreadLocal<Deque<Boolean>> readOnlyTransactions = new ThreadLocal<>();
+    // How many primary-only scopes this thread is in
+    private final ThreadLocal<Integer> primaryScopes = new ThreadLocal<>();
+    private final Map<UUID, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadReplicaRouter(Optional<ReplicaLagMonitor> lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor.orElse(null);
+        this.replicaReads = Counter.builder("db.reads.routed").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("db.reads.routed").tag("target", "primary").register(meterRegistry);
+    }
+
+    public void transactionStarted(boolean readOnly) {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (transactions == null) {
+            transactions = new ArrayDeque<>();
+            readOnlyTransactions.set(transactions);
+        }
+        transactions.push(readOnly);
+    }
+
+    public void transactionEnded() {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (transactions == null) return;
+        transactions.poll();
+        if (transactions.isEmpty()) readOnlyTransactions.remove();
+    }
+
+    /**
+     * Runs {@code call} with every transaction it begins reading from the primary, for lookups whose result must
+     * include the latest writes of someone else, e.g. a tenant or user that was created a moment ago.
+     */
+    public <T> T callOnPrimary(Supplier<T> call) {
+        Integer depth = primaryScopes.get();
+        primaryScopes.set(depth == null ? 1 : depth + 1);
+        try {
+            return call.get();
+        } finally {
+            if (depth == null) primaryScopes.remove();
+            else primaryScopes.set(depth);
+        }
+    }
+
+    public void writeCommitted() {
+        UUID caller = caller();
+        if (caller != null) lastWriteNanos.put(caller, System.nanoTime());
+    }
+
+    public Route route() {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (lagMonitor == null || transactions == null || !Boolean.TRUE.equals(transactions.peek())) return Route.PRIMARY;
+
+        if (primaryScopes.get() != null || lagMonitor.lagMillis() > maxLagMillis || wroteRecently()) {
+            primaryReads.increment();
+            return Route.PRIMARY;
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${datasource.replica.read-your-writes-millis:5000}",
+            initialDelayString = "${datasource.replica.read-your-writes-millis:5000}"
+    )
+    public void evictExpiredWrites() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(written -> now - written > TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis));
+    }
+
+    private boolean wroteRecently() {
+        UUID caller = caller();
+        Long written = caller == null ? null : lastWriteNanos.get(caller);
+        return written != null && System.nanoTime() - written <= TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+    }
+
+    private static UUID caller() {
+        User user = UserContext.getCurrentUser();
+        return user != null && user.getId() != null ? user.getId() : TenantContext.getTenantId();
+    }
+}
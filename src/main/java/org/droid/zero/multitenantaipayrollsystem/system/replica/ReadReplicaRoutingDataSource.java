@@ -0,0 +1,49 @@
+package org.droid.zero.multitenantaipayrollsystem.system.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Opens each connection on the data source the {@link ReadReplicaRouter} picks. When the replica cannot hand out a
+ * connection the read falls back to the primary, and the replica stays out of rotation until its lag is next
+ * checked.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadReplicaRouter router;
+    private final ReplicaLagMonitor lagMonitor;
+    private final DataSource primary;
+
+    public ReadReplicaRoutingDataSource(ReadReplicaRouter router, ReplicaLagMonitor lagMonitor, DataSource primary, DataSource replica) {
+        this.router = router;
+        this.lagMonitor = lagMonitor;
+        this.primary = primary;
+        setTargetDataSources(Map.of(ReadReplicaRouter.Route.PRIMARY, primary, ReadReplicaRouter.Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) return primary.getConnection();
+
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            log.warn("Could not connect to the read replica, reading from the primary", e);
+            lagMonitor.markUnavailable();
+            return primary.getConnection();
+        }
+    }
+}
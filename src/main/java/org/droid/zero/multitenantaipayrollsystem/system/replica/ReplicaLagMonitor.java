@@ -0,0 +1,63 @@
+package org.droid.zero.multitenantaipayrollsystem.system.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the read replica for how far its replay is behind the primary. An unreachable replica, or one that has not
+ * replayed anything yet, counts as infinitely far behind, so reads stay on the primary until it catches up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    public static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    // Caught up when everything received has been replayed; a server that is not in recovery has nothing to replay
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                   END
+            """;
+
+    private final DataSource replicaDataSource;
+
+    private volatile long lagMillis = UNAVAILABLE;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMillis == UNAVAILABLE ? Double.NaN : monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    public void markUnavailable() {
+        lagMillis = UNAVAILABLE;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-millis:1000}")
+    public void check() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            resultSet.next();
+            long lag = resultSet.getLong(1);
+            lagMillis = resultSet.wasNull() ? UNAVAILABLE : Math.max(lag, 0);
+        } catch (SQLException e) {
+            if (lagMillis != UNAVAILABLE) log.warn("Read replica is unavailable, reading from the primary", e);
+            markUnavailable();
+        }
+    }
+}
@@ -17,9 +17,11 @@ import static org.droid.zero.multitenantaipayrollsystem.system.context.TenantCon
 @Component
 public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<UUID>, HibernatePropertiesCustomizer {
 
+    static final UUID NO_TENANT = new UUID(0L, 0L);
+
     @Override
     public UUID resolveCurrentTenantIdentifier() {
-        return Objects.requireNonNullElse(TenantContext.getTenantId(), UUID.fromString("00000000-0000-0000-0000-000000000000"));
+        return Objects.requireNonNullElse(TenantContext.getTenantId(), NO_TENANT);
     }
 
     @Override
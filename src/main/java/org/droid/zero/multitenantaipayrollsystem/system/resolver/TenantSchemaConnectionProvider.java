@@ -0,0 +1,144 @@
+package org.droid.zero.multitenantaipayrollsystem.system.resolver;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext.getRootTenantId;
+
+/**
+ * Hands Hibernate connections whose search path points at the tenant's storage. Most tenants share the tables of
+ * the {@value #SHARED_SCHEMA} schema, separated by the {@code @TenantId} column, and their connections are
+ * handed out untouched. A tenant moved to a dedicated schema gets that schema first on its search path, followed
+ * by the shared schema for the tables that are never moved.
+ * <p>
+ * The storage schema is read from the {@link TenantRegistry} without querying through Hibernate, since this
+ * runs while a session is being opened; a tenant the registry does not hold yet is looked up on the connection
+ * itself.
+ */
+@Component
+public class TenantSchemaConnectionProvider implements MultiTenantConnectionProvider<UUID>, HibernatePropertiesCustomizer {
+
+    public static final String SHARED_SCHEMA = "public";
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+    private static final String STORAGE_SCHEMA_SQL = "SELECT storage_schema FROM " + SHARED_SCHEMA + ".tenants WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final TenantRegistry tenantRegistry;
+
+    // Connections handed out with a dedicated schema, which must be reset before going back to the pool
+    private final Set<Connection> switchedConnections = ConcurrentHashMap.newKeySet();
+
+    public TenantSchemaConnectionProvider(DataSource dataSource, @Lazy TenantRegistry tenantRegistry) {
+        this.dataSource = dataSource;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(UUID tenantId) throws SQLException {
+        Connection connection = getAnyConnection();
+        try {
+            String schema = storageSchemaOf(tenantId, connection);
+            if (schema != null) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET search_path TO " + schema + ", " + SHARED_SCHEMA);
+                }
+                switchedConnections.add(connection);
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseConnection(UUID tenantId, Connection connection) throws SQLException {
+        try {
+            // The pool does not reset session state, the next borrower must not inherit this tenant's schema
+            if (switchedConnections.remove(connection)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET search_path");
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(@NotNull Class<?> unwrapType) {
+        return unwrapType.isInstance(this) || unwrapType.isInstance(dataSource);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(@NotNull Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) return (T) this;
+        if (unwrapType.isInstance(dataSource)) return (T) dataSource;
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, this);
+    }
+
+    private String storageSchemaOf(UUID tenantId, Connection connection) throws SQLException {
+        if (isShared(tenantId)) return null;
+
+        TenantRegistry.RegisteredTenant registered = tenantRegistry.peek(tenantId).orElse(null);
+        if (registered != null) return validated(registered.storageSchema());
+
+        try (PreparedStatement statement = connection.prepareStatement(STORAGE_SCHEMA_SQL)) {
+            statement.setObject(1, tenantId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? validated(resultSet.getString(1)) : null;
+            }
+        }
+    }
+
+    private static boolean isShared(UUID tenantId) {
+        return tenantId == null || Objects.equals(tenantId, TenantIdentifierResolver.NO_TENANT) || Objects.equals(tenantId, getRootTenantId());
+    }
+
+    // The name is interpolated into SET, so refuse anything that is not a plain lowercase identifier
+    private static String validated(String schema) {
+        if (schema == null || schema.equals(SHARED_SCHEMA)) return null;
+        if (!SCHEMA_NAME.matcher(schema).matches()) throw new IllegalStateException("Invalid tenant storage schema: " + schema);
+        return schema;
+    }
+}
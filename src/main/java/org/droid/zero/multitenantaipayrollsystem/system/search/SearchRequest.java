@@ -0,0 +1,41 @@
+package org.droid.zero.multitenantaipayrollsystem.system.search;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Limit;
+
+import java.util.Locale;
+
+/**
+ * A fuzzy search. Terms shorter than three characters have no trigrams to look up, so they would scan every row.
+ */
+public record SearchRequest(
+        @NotBlank(message = "q is required")
+        @Size(min = 3, max = 100, message = "q must be between 3 and 100 characters")
+        String q,
+        @Positive(message = "limit must be positive")
+        Integer limit
+) {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * The term as compared against the lower-cased, trigram-indexed columns.
+     */
+    public String term() {
+        return q.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A LIKE pattern matching the term anywhere, to be used with {@code ESCAPE '\'}.
+     */
+    public String containsPattern() {
+        String escaped = term().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    public Limit resultLimit() {
+        return Limit.of(Math.min(limit == null ? DEFAULT_LIMIT : limit, MAX_LIMIT));
+    }
+}
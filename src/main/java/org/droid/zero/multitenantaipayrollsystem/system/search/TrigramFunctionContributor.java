@@ -0,0 +1,27 @@
+package org.droid.zero.multitenantaipayrollsystem.system.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes the pg_trgm operators usable from JPQL:
+ * <ul>
+ *     <li>{@code trgm_match(a, b)} renders {@code a % b}, true when the two are similar enough to be a match. Compare
+ *     it with {@code = true}; PostgreSQL folds that away, so the trigram indexes still apply.</li>
+ *     <li>{@code similarity(a, b)} ranks matches, from 0 to 1.</li>
+ * </ul>
+ * Registered through {@code META-INF/services}.
+ */
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .registerPattern("trgm_match", "(?1 % ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry()
+                .registerNamed("similarity", types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,2 @@
+ALTER TABLE tenants
+    ADD settings JSONB NOT NULL DEFAULT '{}'::jsonb;
@@ -0,0 +1,47 @@
+-- NULL keeps the tenant in the shared tables, otherwise the schema that holds its dedicated tables
+ALTER TABLE tenants
+    ADD storage_schema VARCHAR(63);
+
+-- Rejects writes to a tenant's rows in any schema other than the one it is stored in, so a node that has not yet
+-- seen a storage move fails and retries instead of writing rows the move has already copied. The KEY SHARE lock
+-- is the one the tenant foreign key takes anyway; a move holds the tenant row FOR UPDATE while it cuts over.
+CREATE FUNCTION guard_tenant_storage() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    row_tenant_id UUID;
+    stored_in     VARCHAR(63);
+BEGIN
+    IF current_setting('payroll.tenant_storage_move', TRUE) = 'on' THEN
+        RETURN COALESCE(NEW, OLD);
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        row_tenant_id := OLD.tenant_id;
+    ELSE
+        row_tenant_id := NEW.tenant_id;
+    END IF;
+
+    SELECT COALESCE(storage_schema, 'public') INTO stored_in FROM public.tenants WHERE id = row_tenant_id FOR KEY SHARE;
+    IF NOT FOUND THEN
+        RETURN COALESCE(NEW, OLD); -- left to the tenant foreign key
+    END IF;
+    IF stored_in IS DISTINCT FROM TG_TABLE_SCHEMA THEN
+        RAISE EXCEPTION 'tenant % is stored in schema %, not %', row_tenant_id, stored_in, TG_TABLE_SCHEMA
+            USING ERRCODE = 'serialization_failure';
+    END IF;
+    RETURN COALESCE(NEW, OLD);
+END;
+$$;
+
+CREATE TRIGGER trg_departments_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON departments
+    FOR EACH ROW
+EXECUTE FUNCTION guard_tenant_storage();
+
+CREATE TRIGGER trg_positions_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON positions
+    FOR EACH ROW
+EXECUTE FUNCTION guard_tenant_storage();
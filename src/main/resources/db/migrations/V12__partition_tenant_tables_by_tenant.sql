@@ -0,0 +1,130 @@
+-- Rebuilds the tenant-scoped tables as hash partitions of tenant_id, so a query for one tenant only touches the
+-- partition that holds it. A partitioned table's keys must contain the partition key, hence (tenant_id, id); ids
+-- stay globally unique UUIDs and remain the JPA identifiers.
+-- The rows are copied, which locks the tables for the duration of the migration.
+
+-- The roles mapping cannot reference user_tenant_role (id) once id alone is no longer unique; its rows are only
+-- ever written through the UserTenantRole.roles element collection
+ALTER TABLE user_tenant_roles_mapping
+    DROP CONSTRAINT fk_user_tenant_role_mapping;
+
+ALTER TABLE departments
+    RENAME TO departments_unpartitioned;
+ALTER TABLE departments_unpartitioned
+    RENAME CONSTRAINT pk_department TO pk_department_unpartitioned;
+
+ALTER TABLE positions
+    RENAME TO positions_unpartitioned;
+ALTER TABLE positions_unpartitioned
+    RENAME CONSTRAINT pk_positions TO pk_positions_unpartitioned;
+
+ALTER TABLE user_tenant_role
+    RENAME TO user_tenant_role_unpartitioned;
+ALTER TABLE user_tenant_role_unpartitioned
+    RENAME CONSTRAINT pk_usertenantrole TO pk_usertenantrole_unpartitioned;
+
+CREATE TABLE departments
+(
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    created_at  TIMESTAMP WITHOUT TIME ZONE,
+    updated_at  TIMESTAMP WITHOUT TIME ZONE,
+    deleted_at  TIMESTAMP WITHOUT TIME ZONE,
+    version     INTEGER,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    is_active   BOOLEAN,
+    CONSTRAINT pk_department PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+CREATE TABLE positions
+(
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    created_at  TIMESTAMP WITHOUT TIME ZONE,
+    updated_at  TIMESTAMP WITHOUT TIME ZONE,
+    deleted_at  TIMESTAMP WITHOUT TIME ZONE,
+    version     INTEGER,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    level       VARCHAR(255),
+    is_active   BOOLEAN,
+    CONSTRAINT pk_positions PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+CREATE TABLE user_tenant_role
+(
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE,
+    version    INTEGER,
+    user_id UUID NOT NULL,
+    CONSTRAINT pk_usertenantrole PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+-- 16 partitions each; going to more later means rebuilding the table again, so err on the high side
+DO
+$$
+DECLARE
+    parent    TEXT;
+    remainder INTEGER;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY ['departments', 'positions', 'user_tenant_role']
+        LOOP
+            FOR remainder IN 0..15
+                LOOP
+                    EXECUTE format(
+                            'CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                            parent || '_p' || remainder, parent, remainder
+                            );
+                END LOOP;
+        END LOOP;
+END;
+$$;
+
+INSERT INTO departments (id, tenant_id, created_at, updated_at, deleted_at, version, name, description, is_active)
+SELECT id, tenant_id, created_at, updated_at, deleted_at, version, name, description, is_active
+FROM departments_unpartitioned;
+
+INSERT INTO positions (id, tenant_id, created_at, updated_at, deleted_at, version, title, description, level, is_active)
+SELECT id, tenant_id, created_at, updated_at, deleted_at, version, title, description, level, is_active
+FROM positions_unpartitioned;
+
+INSERT INTO user_tenant_role (id, tenant_id, created_at, updated_at, deleted_at, version, user_id)
+SELECT id, tenant_id, created_at, updated_at, deleted_at, version, user_id
+FROM user_tenant_role_unpartitioned;
+
+DROP TABLE departments_unpartitioned;
+DROP TABLE positions_unpartitioned;
+DROP TABLE user_tenant_role_unpartitioned;
+
+ALTER TABLE departments
+    ADD CONSTRAINT FK_DEPARTMENT_ON_TENANT FOREIGN KEY (tenant_id) REFERENCES tenants (id);
+
+ALTER TABLE positions
+    ADD CONSTRAINT FK_POSITIONS_ON_TENANT FOREIGN KEY (tenant_id) REFERENCES tenants (id);
+
+ALTER TABLE user_tenant_role
+    ADD CONSTRAINT FK_TENANT FOREIGN KEY (tenant_id) REFERENCES tenants (id);
+
+ALTER TABLE user_tenant_role
+    ADD CONSTRAINT FK_USER FOREIGN KEY (user_id) REFERENCES users (id);
+
+-- Memberships are looked up by user across tenants, and the roles by their owning row
+CREATE INDEX idx_user_tenant_role_user ON user_tenant_role (user_id);
+CREATE INDEX idx_user_tenant_roles_mapping_role ON user_tenant_roles_mapping (user_tenant_role_id);
+
+-- Recreate the storage guards from V11, which were dropped with the old tables
+CREATE TRIGGER trg_departments_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON departments
+    FOR EACH ROW
+EXECUTE FUNCTION guard_tenant_storage();
+
+CREATE TRIGGER trg_positions_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON positions
+    FOR EACH ROW
+EXECUTE FUNCTION guard_tenant_storage();
@@ -0,0 +1,15 @@
+-- Indexes for the lookups the repositories run on every create, login and uniqueness check. IgnoreCase queries
+-- compare upper(column) = upper(?), so the case-insensitive ones are expression indexes on upper().
+-- Tenant-scoped lookups lead with tenant_id, which also selects the partition.
+CREATE INDEX idx_departments_tenant_upper_name ON departments (tenant_id, upper(name));
+
+CREATE INDEX idx_positions_tenant_upper_title ON positions (tenant_id, upper(title));
+
+CREATE INDEX idx_user_credentials_upper_email ON user_credentials (upper(email));
+
+CREATE INDEX idx_users_contact_email ON users (contact_email);
+
+-- tenants.phone is already covered by uc_tenants_phone
+CREATE INDEX idx_tenants_upper_name ON tenants (upper(name));
+
+CREATE INDEX idx_tenants_upper_email ON tenants (upper(email));
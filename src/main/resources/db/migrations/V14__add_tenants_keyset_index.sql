@@ -0,0 +1,10 @@
+-- Tenant listings page by (created_at, id); rows without a created_at would never be reached past the first page
+UPDATE tenants
+SET created_at = coalesce(updated_at, now())
+WHERE created_at IS NULL;
+
+ALTER TABLE tenants
+    ALTER COLUMN created_at SET DEFAULT now(),
+    ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_tenants_created_at_id ON tenants (created_at, id);
@@ -0,0 +1,23 @@
+-- Trigram indexes for the fuzzy searches and the contains filters, which compare lower(column) with LIKE '%term%'
+-- or the pg_trgm % operator. A B-tree cannot serve either. Both extensions ship with PostgreSQL's contrib modules;
+-- btree_gin lets tenant_id lead the GIN indexes of the tenant-scoped tables.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_tenants_name_trgm ON tenants USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX idx_tenants_email_trgm ON tenants USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX idx_tenants_phone_trgm ON tenants USING gin (lower(phone) gin_trgm_ops);
+
+CREATE INDEX idx_tenants_industry_trgm ON tenants USING gin (lower(industry) gin_trgm_ops);
+
+CREATE INDEX idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+
+CREATE INDEX idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+
+CREATE INDEX idx_users_contact_email_trgm ON users USING gin (lower(contact_email) gin_trgm_ops);
+
+CREATE INDEX idx_departments_tenant_name_trgm ON departments USING gin (tenant_id, lower(name) gin_trgm_ops);
+
+CREATE INDEX idx_positions_tenant_title_trgm ON positions USING gin (tenant_id, lower(title) gin_trgm_ops);
@@ -0,0 +1,42 @@
+-- Restores the foreign key from the roles mapping to its owning user_tenant_role, dropped by V12 when that table was
+-- re-keyed by (tenant_id, id). The mapping now carries the owner's tenant_id so it can reference the whole key.
+
+ALTER TABLE user_tenant_roles_mapping
+    ADD tenant_id UUID;
+
+UPDATE user_tenant_roles_mapping m
+SET tenant_id = utr.tenant_id
+FROM user_tenant_role utr
+WHERE utr.id = m.user_tenant_role_id;
+
+-- Rows whose owner is already gone could not be kept under the constraint anyway
+DELETE FROM user_tenant_roles_mapping
+WHERE tenant_id IS NULL;
+
+ALTER TABLE user_tenant_roles_mapping
+    ALTER COLUMN tenant_id SET NOT NULL;
+
+-- Lets the trigger below find the owner by id alone; the primary key leads with tenant_id
+CREATE INDEX idx_user_tenant_role_id ON user_tenant_role (id);
+
+-- The mapping is written through the UserTenantRole.roles element collection, which only knows the owner's id,
+-- so the tenant is filled in from the owner
+CREATE FUNCTION fill_user_tenant_roles_mapping_tenant() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF NEW.tenant_id IS NULL THEN
+        SELECT tenant_id INTO NEW.tenant_id FROM user_tenant_role WHERE id = NEW.user_tenant_role_id;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_user_tenant_roles_mapping_tenant
+    BEFORE INSERT
+    ON user_tenant_roles_mapping
+    FOR EACH ROW
+EXECUTE FUNCTION fill_user_tenant_roles_mapping_tenant();
+
+ALTER TABLE user_tenant_roles_mapping
+    ADD CONSTRAINT fk_user_tenant_role_mapping FOREIGN KEY (tenant_id, user_tenant_role_id) REFERENCES user_tenant_role (tenant_id, id);
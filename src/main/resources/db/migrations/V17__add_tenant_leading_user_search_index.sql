@@ -0,0 +1,71 @@
+-- The user search is tenant-scoped, but users are shared between tenants and their trigram indexes from V15 are
+-- global: a common term matches users of every tenant and the membership join throws most of them away. The
+-- searched columns are copied, lower-cased, onto each membership so a tenant_id-led trigram index on
+-- user_tenant_role serves the search from the tenant's partition alone. Triggers keep the copies in step with users.
+
+ALTER TABLE user_tenant_role
+    ADD search_first_name VARCHAR(255),
+    ADD search_last_name VARCHAR(255),
+    ADD search_contact_email VARCHAR(255);
+
+UPDATE user_tenant_role utr
+SET search_first_name    = lower(u.first_name),
+    search_last_name     = lower(u.last_name),
+    search_contact_email = lower(u.contact_email)
+FROM users u
+WHERE u.id = utr.user_id;
+
+-- Memberships are inserted after their user, which is already there to copy from
+CREATE FUNCTION fill_user_tenant_role_search_columns() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    SELECT lower(first_name), lower(last_name), lower(contact_email)
+    INTO NEW.search_first_name, NEW.search_last_name, NEW.search_contact_email
+    FROM users
+    WHERE id = NEW.user_id;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_user_tenant_role_search_columns
+    BEFORE INSERT
+    ON user_tenant_role
+    FOR EACH ROW
+EXECUTE FUNCTION fill_user_tenant_role_search_columns();
+
+CREATE FUNCTION sync_user_tenant_role_search_columns() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE user_tenant_role
+    SET search_first_name    = lower(NEW.first_name),
+        search_last_name     = lower(NEW.last_name),
+        search_contact_email = lower(NEW.contact_email)
+    WHERE user_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_users_search_columns
+    AFTER UPDATE OF first_name, last_name, contact_email
+    ON users
+    FOR EACH ROW
+    WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name
+        OR OLD.last_name IS DISTINCT FROM NEW.last_name
+        OR OLD.contact_email IS DISTINCT FROM NEW.contact_email)
+EXECUTE FUNCTION sync_user_tenant_role_search_columns();
+
+-- One multicolumn index serves the LIKE and % conditions on any of the three columns, each ANDed with tenant_id;
+-- created on the partitioned table, it is built on every partition
+CREATE INDEX idx_user_tenant_role_tenant_search_trgm ON user_tenant_role USING gin (
+    tenant_id,
+    search_first_name gin_trgm_ops,
+    search_last_name gin_trgm_ops,
+    search_contact_email gin_trgm_ops
+);
+
+-- Nothing else searches users by these columns
+DROP INDEX idx_users_first_name_trgm;
+DROP INDEX idx_users_last_name_trgm;
+DROP INDEX idx_users_contact_email_trgm;
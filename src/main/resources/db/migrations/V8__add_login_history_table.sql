@@ -0,0 +1,11 @@
+CREATE TABLE login_history
+(
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    tenant_id UUID,
+    logged_in_at   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    remote_address VARCHAR(64),
+    CONSTRAINT pk_login_history PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_login_history_user_logged_in_at ON login_history (user_id, logged_in_at);
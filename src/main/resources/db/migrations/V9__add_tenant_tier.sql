@@ -0,0 +1,2 @@
+ALTER TABLE tenants
+    ADD tier VARCHAR(32) NOT NULL DEFAULT 'STANDARD';
@@ -0,0 +1,30 @@
+-- Applied to every dedicated tenant schema. Only tables whose rows belong to a single tenant move out of the
+-- shared schema; tenants, users and memberships stay shared and resolve through the search path.
+-- A migration that changes one of these tables in db/migrations needs a counterpart here.
+CREATE TABLE departments
+(
+    LIKE ${shared_schema}.departments INCLUDING ALL
+);
+
+ALTER TABLE departments
+    ADD CONSTRAINT FK_DEPARTMENT_ON_TENANT FOREIGN KEY (tenant_id) REFERENCES ${shared_schema}.tenants (id);
+
+CREATE TRIGGER trg_departments_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON departments
+    FOR EACH ROW
+EXECUTE FUNCTION ${shared_schema}.guard_tenant_storage();
+
+CREATE TABLE positions
+(
+    LIKE ${shared_schema}.positions INCLUDING ALL
+);
+
+ALTER TABLE positions
+    ADD CONSTRAINT FK_POSITIONS_ON_TENANT FOREIGN KEY (tenant_id) REFERENCES ${shared_schema}.tenants (id);
+
+CREATE TRIGGER trg_positions_tenant_storage
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON positions
+    FOR EACH ROW
+EXECUTE FUNCTION ${shared_schema}.guard_tenant_storage();
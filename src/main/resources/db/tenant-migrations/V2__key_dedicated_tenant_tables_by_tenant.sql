@@ -0,0 +1,9 @@
+-- Counterpart of V12 in db/migrations: a dedicated schema holds a single tenant and is not partitioned, but its
+-- tables use the same (tenant_id, id) keys so rows move between the two layouts unchanged
+ALTER TABLE departments
+    DROP CONSTRAINT departments_pkey,
+    ADD CONSTRAINT departments_pkey PRIMARY KEY (tenant_id, id);
+
+ALTER TABLE positions
+    DROP CONSTRAINT positions_pkey,
+    ADD CONSTRAINT positions_pkey PRIMARY KEY (tenant_id, id);
@@ -0,0 +1,5 @@
+-- Counterpart of V13 in db/migrations. Schemas created after V13 already copied these indexes from the shared
+-- tables under the names PostgreSQL generates, which are the names used here.
+CREATE INDEX IF NOT EXISTS departments_tenant_id_upper_idx ON departments (tenant_id, upper(name));
+
+CREATE INDEX IF NOT EXISTS positions_tenant_id_upper_idx ON positions (tenant_id, upper(title));
@@ -0,0 +1,5 @@
+-- Counterpart of V15 in db/migrations. The operator class lives in the shared schema with the pg_trgm extension;
+-- schemas created after V15 already copied these indexes under the names used here.
+CREATE INDEX IF NOT EXISTS departments_tenant_id_lower_idx ON departments USING gin (tenant_id, lower(name) ${shared_schema}.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS positions_tenant_id_lower_idx ON positions USING gin (tenant_id, lower(title) ${shared_schema}.gin_trgm_ops);
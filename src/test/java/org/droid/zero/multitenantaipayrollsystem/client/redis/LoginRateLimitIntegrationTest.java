@@ -0,0 +1,74 @@
+package org.droid.zero.multitenantaipayrollsystem.client.redis;
+
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Login sliding-window limiter")
+class LoginRateLimitIntegrationTest extends BaseIntegrationTest {
+
+    private static final long WINDOW_MILLIS = 1_000;
+
+    @Autowired
+    private RedisCacheClient redisCacheClient;
+
+    @Test
+    @DisplayName("Attempts are allowed up to the limit, then rejected until the window slides past them")
+    void recordLoginAttempt_shouldRejectAtTheLimit_andAllowAgainOnceTheWindowSlides() throws Exception {
+        // Arrange
+        String email = UUID.randomUUID() + "@email.com";
+        String tenantId = UUID.randomUUID().toString();
+        String clientIp = "198.51.100." + (int) (Math.random() * 250);
+
+        // Act & Assert
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), email, tenantId, clientIp, 2, 50, WINDOW_MILLIS)).isZero();
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), email, tenantId, clientIp, 2, 50, WINDOW_MILLIS)).isZero();
+
+        long retryAfter = redisCacheClient.recordLoginAttempt(attemptId(), email, tenantId, clientIp, 2, 50, WINDOW_MILLIS);
+        assertThat(retryAfter).isPositive().isLessThanOrEqualTo(WINDOW_MILLIS);
+
+        Thread.sleep(retryAfter + 50);
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), email, tenantId, clientIp, 2, 50, WINDOW_MILLIS)).isZero();
+    }
+
+    @Test
+    @DisplayName("The IP window limits attempts across accounts and survives an account reset")
+    void recordLoginAttempt_shouldLimitPerIp_acrossAccounts() {
+        // Arrange
+        String tenantId = UUID.randomUUID().toString();
+        String clientIp = "192.0.2." + (int) (Math.random() * 250);
+
+        // Act & Assert
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), "a." + UUID.randomUUID() + "@email.com", tenantId, clientIp, 5, 2, WINDOW_MILLIS)).isZero();
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), "b." + UUID.randomUUID() + "@email.com", tenantId, clientIp, 5, 2, WINDOW_MILLIS)).isZero();
+
+        String email = "c." + UUID.randomUUID() + "@email.com";
+        redisCacheClient.resetLoginAttempts(attemptId(), email, tenantId, clientIp);
+        assertThat(redisCacheClient.recordLoginAttempt(attemptId(), email, tenantId, clientIp, 5, 2, WINDOW_MILLIS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Successful logins from one address do not fill its IP window")
+    void resetLoginAttempts_shouldTakeTheAttemptBackFromTheIpWindow() {
+        // Arrange
+        String tenantId = UUID.randomUUID().toString();
+        String clientIp = "203.0.113." + (int) (Math.random() * 250);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            String attemptId = attemptId();
+            String email = "user" + i + "." + UUID.randomUUID() + "@email.com";
+            assertThat(redisCacheClient.recordLoginAttempt(attemptId, email, tenantId, clientIp, 5, 2, WINDOW_MILLIS)).isZero();
+            redisCacheClient.resetLoginAttempts(attemptId, email, tenantId, clientIp);
+        }
+    }
+
+    private static String attemptId() {
+        return UUID.randomUUID().toString();
+    }
+}
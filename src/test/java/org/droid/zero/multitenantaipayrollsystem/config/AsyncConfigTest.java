@@ -0,0 +1,73 @@
+package org.droid.zero.multitenantaipayrollsystem.config;
+
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest extends BaseUnitTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withBean(ContextProbe.class);
+
+    @Test
+    void asyncMethods_shouldRunOnAWorkerThread_withTheCallersTenantAndSecurityContext() {
+        contextRunner.run(context -> {
+            // Arrange
+            ContextProbe probe = context.getBean(ContextProbe.class);
+            UUID tenantId = UUID.randomUUID();
+            Authentication caller = SecurityContextHolder.getContext().getAuthentication();
+
+            // Act
+            ObservedContext observed = TenantContext.callAsTenant(tenantId, probe::observe).get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(observed.thread()).isNotEqualTo(Thread.currentThread());
+            assertThat(observed.tenantId()).isEqualTo(tenantId);
+            assertThat(observed.authentication()).isSameAs(caller);
+            assertThat(TenantContext.getTenantId()).isNull();
+        });
+    }
+
+    @Test
+    void asyncMethods_shouldNotKeepATenant_onceTheTaskIsDone() {
+        contextRunner.run(context -> {
+            // Arrange
+            ContextProbe probe = context.getBean(ContextProbe.class);
+            TenantContext.callAsTenant(UUID.randomUUID(), probe::observe).get(5, TimeUnit.SECONDS);
+
+            // Act
+            ObservedContext observed = probe.observe().get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(observed.tenantId()).isNull();
+        });
+    }
+
+    static class ContextProbe {
+
+        @Async
+        public CompletableFuture<ObservedContext> observe() {
+            return CompletableFuture.completedFuture(new ObservedContext(
+                    Thread.currentThread(),
+                    TenantContext.getTenantId(),
+                    SecurityContextHolder.getContext().getAuthentication()
+            ));
+        }
+    }
+
+    record ObservedContext(Thread thread, UUID tenantId, Authentication authentication) {}
+}
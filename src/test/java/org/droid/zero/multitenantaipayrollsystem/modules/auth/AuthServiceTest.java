@@ -1,14 +1,23 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.auth;
 
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.HttpServletRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.AuthTokenDto;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangeEmailRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.ChangePasswordRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.RefreshTokenRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.SwitchTenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.model.UserCredentials;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.repository.UserCredentialsRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.AuthServiceImpl;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.LoginAuditBuffer;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.RefreshTokenService;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.service.TenantMembershipIndex;
 import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.VerifiedToken;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
 import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +25,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +53,18 @@ class AuthServiceTest extends BaseUnitTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoginAuditBuffer loginAuditBuffer;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TenantMembershipIndex membershipIndex;
+
     @Mock
     private HttpServletRequest request;
 
@@ -58,7 +81,7 @@ class AuthServiceTest extends BaseUnitTest {
 
     @BeforeEach
     void setUp() {
-        authService = new AuthServiceImpl(credentialsRepository, tokenService, passwordEncoder);
+        authService = new AuthServiceImpl(credentialsRepository, tokenService, passwordEncoder, eventPublisher, loginAuditBuffer, refreshTokenService, membershipIndex);
 
         userCredentials = new UserCredentials(
                 email,
@@ -81,6 +104,7 @@ class AuthServiceTest extends BaseUnitTest {
         // Assert
         assertThat(userCredentials.getEmail()).isEqualTo(newEmail);
         verify(credentialsRepository, times(1)).findByUserId(userId);
+        verify(eventPublisher, times(1)).publishEvent(new UserSecurityChangedEvent(userId));
     }
 
     @Test
@@ -141,6 +165,7 @@ class AuthServiceTest extends BaseUnitTest {
         verify(passwordEncoder, times(1)).matches(newPassword, hashedPassword);
         verify(passwordEncoder, times(1)).encode(newPassword);
         verify(credentialsRepository, times(1)).findByUserId(userId);
+        verify(eventPublisher, times(1)).publishEvent(new UserSecurityChangedEvent(userId));
     }
 
     @Test
@@ -213,8 +238,10 @@ class AuthServiceTest extends BaseUnitTest {
         String tenantId = UUID.randomUUID().toString();
 
         when(request.getHeader("X-Tenant-ID")).thenReturn(tenantId);
-        when(tokenService.generateToken(any(Authentication.class), eq(tenantId)))
+        when(tokenService.generateToken(any(Authentication.class), eq(tenantId), anyString()))
                 .thenReturn(generatedToken);
+        when(refreshTokenService.issue(any(Authentication.class), eq(tenantId), anyString()))
+                .thenReturn("generated.refresh.token");
 
         // Act
         AuthTokenDto result = authService.createToken(request);
@@ -222,22 +249,112 @@ class AuthServiceTest extends BaseUnitTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.token()).isEqualTo(generatedToken);
-        verify(tokenService, times(1)).generateToken(any(Authentication.class), eq(tenantId));
+        assertThat(result.refreshToken()).isEqualTo("generated.refresh.token");
+        verify(tokenService, times(1)).generateToken(any(Authentication.class), eq(tenantId), anyString());
+        verify(loginAuditBuffer, times(1)).record(any(), eq(UUID.fromString(tenantId)), any());
+    }
+
+    @Test
+    void refreshToken_shouldIssueNewTokens_withoutLoadingUser() {
+        // Arrange
+        String tenantId = UUID.randomUUID().toString();
+        String familyId = UUID.randomUUID().toString();
+        when(refreshTokenService.rotate("old.refresh.token")).thenReturn(new RefreshTokenService.RotatedRefreshToken(
+                "new.refresh.token", userId, email, "ROLE_EMPLOYEE", tenantId, familyId
+        ));
+        when(tokenService.generateToken(userId, email, "ROLE_EMPLOYEE", tenantId, familyId))
+                .thenReturn("renewed.jwt.token");
+
+        // Act
+        AuthTokenDto result = authService.refreshToken(new RefreshTokenRequest("old.refresh.token"));
+
+        // Assert
+        assertThat(result.token()).isEqualTo("renewed.jwt.token");
+        assertThat(result.refreshToken()).isEqualTo("new.refresh.token");
+        verifyNoInteractions(credentialsRepository, passwordEncoder);
+    }
+
+    @Test
+    void invalidateToken_shouldRevokeRefreshTokens_ofTheSession() {
+        // Arrange
+        setupSecurityContext(UserRole.EMPLOYEE);
+        String token = "valid.jwt.token";
+        String sessionId = UUID.randomUUID().toString();
+        VerifiedToken verifiedToken = new VerifiedToken(token, Jwts.claims().subject(email).add("sid", sessionId).build());
+        when(request.getHeader("Authorization"))
+                .thenReturn("Bearer " + token);
+        when(tokenService.resolveToken(request))
+                .thenReturn(verifiedToken);
+
+        // Act
+        authService.invalidateToken(request);
+
+        // Assert
+        verify(refreshTokenService, times(1)).revokeFamily(sessionId);
+    }
+
+    @Test
+    void switchTenant_shouldIssueTokensForTargetTenant_andRetireOldToken() {
+        // Arrange
+        setupSecurityContext(UserRole.EMPLOYEE);
+        UUID targetTenantId = UUID.randomUUID();
+        String sessionId = UUID.randomUUID().toString();
+        VerifiedToken verifiedToken = new VerifiedToken("valid.jwt.token", Jwts.claims()
+                .subject(email)
+                .add("tenantId", UUID.randomUUID().toString())
+                .add("sid", sessionId)
+                .build());
+        when(tokenService.resolveToken(request)).thenReturn(verifiedToken);
+        when(membershipIndex.rolesFor(any(), eq(targetTenantId))).thenReturn(Set.of(UserRole.PAYROLL_OFFICER));
+        when(tokenService.generateToken(any(), eq(email), eq("ROLE_PAYROLL_OFFICER"), eq(targetTenantId.toString()), anyString()))
+                .thenReturn("switched.jwt.token");
+        when(refreshTokenService.issue(any(), eq(email), eq("ROLE_PAYROLL_OFFICER"), eq(targetTenantId.toString()), anyString()))
+                .thenReturn("switched.refresh.token");
+
+        // Act
+        AuthTokenDto result = authService.switchTenant(new SwitchTenantRequest(targetTenantId), request);
+
+        // Assert
+        assertThat(result.token()).isEqualTo("switched.jwt.token");
+        assertThat(result.refreshToken()).isEqualTo("switched.refresh.token");
+        verify(tokenService, times(1)).blacklistToken(eq(verifiedToken), any(User.class));
+        verify(refreshTokenService, times(1)).revokeFamily(sessionId);
+    }
+
+    @Test
+    void switchTenant_shouldThrowException_whenUserIsNotAMemberOfTargetTenant() {
+        // Arrange
+        setupSecurityContext(UserRole.EMPLOYEE);
+        UUID targetTenantId = UUID.randomUUID();
+        VerifiedToken verifiedToken = new VerifiedToken("valid.jwt.token", Jwts.claims()
+                .subject(email)
+                .add("tenantId", UUID.randomUUID().toString())
+                .build());
+        when(tokenService.resolveToken(request)).thenReturn(verifiedToken);
+        when(membershipIndex.rolesFor(any(), eq(targetTenantId))).thenReturn(Set.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.switchTenant(new SwitchTenantRequest(targetTenantId), request))
+                .isInstanceOf(ObjectNotFoundException.class);
+        verify(tokenService, never()).blacklistToken(any(VerifiedToken.class), any());
     }
 
     @Test
     void invalidateToken_shouldBlacklistToken_whenTokenIsValid() {
         // Arrange
         String token = "valid.jwt.token";
+        VerifiedToken verifiedToken = new VerifiedToken(token, Jwts.claims().subject(email).build());
         when(request.getHeader("Authorization"))
                 .thenReturn("Bearer " + token);
+        when(tokenService.resolveToken(request))
+                .thenReturn(verifiedToken);
 
         // Act
         authService.invalidateToken(request);
 
         // Assert
         verify(tokenService, times(1))
-                .blacklistToken(eq(token), any(User.class));
+                .blacklistToken(eq(verifiedToken), any(User.class));
     }
 
     @Test
@@ -251,7 +368,7 @@ class AuthServiceTest extends BaseUnitTest {
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid token.");
 
-        verify(tokenService, never()).blacklistToken(anyString(), any());
+        verify(tokenService, never()).blacklistToken(any(VerifiedToken.class), any());
         verify(authentication, never()).setAuthenticated(anyBoolean());
     }
 
@@ -266,7 +383,7 @@ class AuthServiceTest extends BaseUnitTest {
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid token.");
 
-        verify(tokenService, never()).blacklistToken(anyString(), any());
+        verify(tokenService, never()).blacklistToken(any(VerifiedToken.class), any());
         verify(authentication, never()).setAuthenticated(anyBoolean());
     }
 
@@ -281,7 +398,7 @@ class AuthServiceTest extends BaseUnitTest {
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid token.");
 
-        verify(tokenService, never()).blacklistToken(anyString(), any());
+        verify(tokenService, never()).blacklistToken(any(VerifiedToken.class), any());
         verify(authentication, never()).setAuthenticated(anyBoolean());
     }
 
@@ -312,6 +429,6 @@ class AuthServiceTest extends BaseUnitTest {
 //        assertThatThrownBy(() -> authService.invalidateToken(request, authentication))
 //                .isInstanceOf(InsufficientAuthenticationException.class);
 //
-//        verify(tokenService, never()).blacklistToken(anyString(), any());
+//        verify(tokenService, never()).blacklistToken(any(VerifiedToken.class), any());
 //    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.LoginAuditBuffer;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoginAuditBufferTest extends BaseUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginAuditBuffer loginAuditBuffer;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginAuditBuffer = new LoginAuditBuffer(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(loginAuditBuffer, "maxHistoryBuffer", 2);
+        ReflectionTestUtils.invokeMethod(loginAuditBuffer, "init");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldWriteOneLastLoginPerUser_andEveryHistoryRow() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        loginAuditBuffer.record(userId, tenantId, "127.0.0.1");
+        loginAuditBuffer.record(userId, tenantId, "127.0.0.1");
+
+        // Act
+        loginAuditBuffer.flush();
+
+        // Assert
+        ArgumentCaptor<Collection<Object>> lastLogins = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE user_credentials"), lastLogins.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(lastLogins.getValue()).hasSize(1);
+
+        ArgumentCaptor<Collection<Object>> history = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO login_history"), history.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(history.getValue()).hasSize(2);
+
+        assertThat(meterRegistry.get("auth.login.audit.buffer.depth").tag("buffer", "last_login").gauge().value()).isZero();
+    }
+
+    @Test
+    void record_shouldDropHistory_whenBufferIsFull() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            loginAuditBuffer.record(UUID.randomUUID(), tenantId, "127.0.0.1");
+        }
+
+        // Assert
+        assertThat(meterRegistry.get("auth.login.audit.buffer.depth").tag("buffer", "history").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.login.audit.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.login.audit.buffer.depth").tag("buffer", "last_login").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void flush_shouldSkipDatabase_whenNothingIsBuffered() {
+        // Act
+        loginAuditBuffer.flush();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
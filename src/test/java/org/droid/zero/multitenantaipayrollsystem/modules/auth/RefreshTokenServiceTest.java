@@ -0,0 +1,106 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.service.RefreshTokenService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.SecurityStampService;
+import org.droid.zero.multitenantaipayrollsystem.security.jwt.TokenService;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest extends BaseUnitTest {
+
+    @Mock
+    private RedisCacheClient redisCacheClient;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private SecurityStampService securityStampService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefreshTokenService refreshTokenService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String familyId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(redisCacheClient, tokenService, securityStampService, meterRegistry);
+        ReflectionTestUtils.invokeMethod(refreshTokenService, "init");
+    }
+
+    private List<String> rotatedRecord(long stamp) {
+        return List.of(
+                "rotated",
+                "userId", userId.toString(),
+                "username", "test@example.com",
+                "roles", "ROLE_EMPLOYEE",
+                "tenantId", UUID.randomUUID().toString(),
+                "familyId", familyId,
+                "stamp", Long.toString(stamp)
+        );
+    }
+
+    @Test
+    void rotate_shouldReturnNewTokenAndStoredClaims_whenTokenIsCurrent() {
+        // Arrange
+        when(redisCacheClient.rotateRefreshToken(eq(familyId), anyString(), anyString())).thenReturn(rotatedRecord(3));
+        when(securityStampService.currentStamp(userId)).thenReturn(3L);
+
+        // Act
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate(familyId + ".presented");
+
+        // Assert
+        assertThat(rotated.refreshToken()).isNotBlank().isNotEqualTo(familyId + ".presented").startsWith(familyId + ".");
+        assertThat(rotated.userId()).isEqualTo(userId);
+        assertThat(rotated.roles()).isEqualTo("ROLE_EMPLOYEE");
+        assertThat(rotated.familyId()).isEqualTo(familyId);
+    }
+
+    @Test
+    void rotate_shouldRejectAndCount_whenTokenWasAlreadyUsed() {
+        // Arrange
+        when(redisCacheClient.rotateRefreshToken(eq(familyId), anyString(), anyString())).thenReturn(List.of("reused", familyId));
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate(familyId + ".presented"))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(meterRegistry.get("auth.refresh.reuse.detected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rotate_shouldRevokeFamily_whenSecurityStampChanged() {
+        // Arrange
+        when(redisCacheClient.rotateRefreshToken(eq(familyId), anyString(), anyString())).thenReturn(rotatedRecord(3));
+        when(securityStampService.currentStamp(userId)).thenReturn(4L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate(familyId + ".presented"))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(redisCacheClient, times(1)).revokeRefreshTokenFamily(familyId);
+    }
+
+    @Test
+    void rotate_shouldRejectWithoutTouchingRedis_whenTokenCarriesNoFamily() {
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("presented"))
+                .isInstanceOf(BadCredentialsException.class);
+        verifyNoInteractions(redisCacheClient);
+    }
+}
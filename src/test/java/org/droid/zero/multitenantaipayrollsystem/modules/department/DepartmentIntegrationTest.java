@@ -161,6 +161,36 @@ class DepartmentIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.errors", hasSize(2))); // Expecting 2 validation errors (name and description)
     }
 
+    @Test
+    @DisplayName("Search departments - Matches misspelled term")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void searchDepartments_shouldMatchMisspelledTerm() throws Exception {
+        // Arrange - Create a department first
+        createTestDepartment();
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/departments/search")
+                        .param("q", "enginering")
+                        .header(HttpHeaders.AUTHORIZATION, TENANT_ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Search Success"))
+                .andExpect(jsonPath("$.data[0].id").value(departmentId))
+                .andExpect(jsonPath("$.data[0].name").value(validDepartmentRequest.name()));
+    }
+
+    @Test
+    @DisplayName("Search departments with a short term - Bad Request")
+    void searchDepartments_withShortTerm_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/departments/search")
+                        .param("q", "en")
+                        .header(HttpHeaders.AUTHORIZATION, TENANT_ADMIN_TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].source.pointer").value("q"));
+    }
+
     /**
      * Helper method to create a test department and store its ID
      */
@@ -1,5 +1,6 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.department;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.mapper.DepartmentMapper;
@@ -7,17 +8,22 @@ import org.droid.zero.multitenantaipayrollsystem.modules.department.model.Depart
 import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.department.service.DepartmentServiceImpl;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.DuplicateResourceException;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
 import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -47,7 +53,7 @@ class DepartmentServiceTest extends BaseUnitTest {
     
     @BeforeEach
     void setUp() {
-        departmentService = new DepartmentServiceImpl(departmentRepository, departmentMapper);
+        departmentService = new DepartmentServiceImpl(departmentRepository, departmentMapper, new SingleFlight(new SimpleMeterRegistry()));
 
         Tenant tenant = new Tenant();
         tenant.setId(UUID.randomUUID());
@@ -67,12 +73,17 @@ class DepartmentServiceTest extends BaseUnitTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
     void findById_shouldReturnDepartment_whenDepartmentExists() {
         // Arrange
         when(departmentRepository
-                .findById(departmentId))
-                .thenReturn(Optional.of(department));
+                .findResponseById(departmentId))
+                .thenReturn(Optional.of(departmentMapper.toResponse(department)));
 
         // Act
         DepartmentResponse foundDepartment = departmentService.findById(departmentId);
@@ -81,14 +92,14 @@ class DepartmentServiceTest extends BaseUnitTest {
         assertThat(foundDepartment).isNotNull();
         assertThat(foundDepartment.id()).isEqualTo(departmentId);
         assertThat(foundDepartment.description()).isEqualTo(department.getDescription());
-        verify(departmentRepository, times(1)).findById(departmentId);
+        verify(departmentRepository, times(1)).findResponseById(departmentId);
     }
 
     @Test
     void findById_shouldThrowException_whenDepartmentDoesNotExist() {
         // Arrange
         when(departmentRepository
-                .findById(departmentId))
+                .findResponseById(departmentId))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -96,7 +107,20 @@ class DepartmentServiceTest extends BaseUnitTest {
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find DEPARTMENT with ID '" + departmentId + "'.");
 
-        verify(departmentRepository, times(1)).findById(departmentId);
+        verify(departmentRepository, times(1)).findResponseById(departmentId);
+    }
+
+    @Test
+    void search_shouldMatchLowerCasedEscapedTerm_withCappedLimit() {
+        // Arrange
+        when(departmentRepository.search("50%_off", "%50\\%\\_off%", Limit.of(SearchRequest.MAX_LIMIT)))
+                .thenReturn(List.of(department));
+
+        // Act
+        List<DepartmentResponse> found = departmentService.search(new SearchRequest("  50%_OFF ", 500));
+
+        // Assert
+        assertThat(found).extracting(DepartmentResponse::id).containsExactly(departmentId);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.position;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.mapper.PositionMapper;
@@ -7,10 +8,12 @@ import org.droid.zero.multitenantaipayrollsystem.modules.position.model.Position
 import org.droid.zero.multitenantaipayrollsystem.modules.position.repository.PositionRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.position.service.PositionServiceImpl;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.DuplicateResourceException;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
 import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,7 +50,7 @@ class PositionServiceTest extends BaseUnitTest {
 
     @BeforeEach
     void setUp() {
-        positionService = new PositionServiceImpl(positionRepository, positionMapper);
+        positionService = new PositionServiceImpl(positionRepository, positionMapper, new SingleFlight(new SimpleMeterRegistry()));
 
         Tenant tenant = new Tenant();
         tenant.setId(UUID.randomUUID());
@@ -69,12 +72,17 @@ class PositionServiceTest extends BaseUnitTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
     void findById_shouldReturnPosition_whenPositionExists() {
         // Arrange
         when(positionRepository
-                .findById(positionId))
-                .thenReturn(Optional.of(position));
+                .findResponseById(positionId))
+                .thenReturn(Optional.of(positionMapper.toResponse(position)));
 
         // Act
         PositionResponse foundPosition = positionService.findById(positionId);
@@ -83,14 +91,14 @@ class PositionServiceTest extends BaseUnitTest {
         assertThat(foundPosition).isNotNull();
         assertThat(foundPosition.id()).isEqualTo(positionId);
         assertThat(foundPosition.description()).isEqualTo(position.getDescription());
-        verify(positionRepository, times(1)).findById(positionId);
+        verify(positionRepository, times(1)).findResponseById(positionId);
     }
 
     @Test
     void findById_shouldThrowException_whenPositionDoesNotExist() {
         // Arrange
         when(positionRepository
-                .findById(positionId))
+                .findResponseById(positionId))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -98,7 +106,7 @@ class PositionServiceTest extends BaseUnitTest {
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find POSITION with ID '" + positionId + "'.");
 
-        verify(positionRepository, times(1)).findById(positionId);
+        verify(positionRepository, times(1)).findResponseById(positionId);
     }
 
     @Test
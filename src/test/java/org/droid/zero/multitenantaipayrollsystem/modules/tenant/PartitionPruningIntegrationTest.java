@@ -0,0 +1,111 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.repository.PositionRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration.CapturedQuery;
+import org.droid.zero.multitenantaipayrollsystem.test.config.QueryPlans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.EMPLOYEE;
+
+@DisplayName("Partition pruning of tenant-scoped queries")
+@Import(CapturingDataSourceConfiguration.class)
+class PartitionPruningIntegrationTest extends BaseIntegrationTest {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("departments", "positions", "user_tenant_role");
+    private static final int PARTITIONS = 16; // see V12__partition_tenant_tables_by_tenant.sql
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("DepartmentRepository queries scan only the tenant's partition")
+    void departmentQueries_shouldPruneToTheTenantsPartition() throws Exception {
+        assertPruned("departments", () -> departmentRepository.existsByNameIgnoreCase("Engineering"));
+        assertPruned("departments", () -> departmentRepository.findById(UUID.randomUUID()));
+        assertPruned("departments", () -> departmentRepository.findAll());
+    }
+
+    @Test
+    @DisplayName("PositionRepository queries scan only the tenant's partition")
+    void positionQueries_shouldPruneToTheTenantsPartition() throws Exception {
+        assertPruned("positions", () -> positionRepository.existsByTitleIgnoreCase("Engineer"));
+        assertPruned("positions", () -> positionRepository.findById(UUID.randomUUID()));
+        assertPruned("positions", () -> positionRepository.findAll());
+    }
+
+    @Test
+    @DisplayName("UserRepository queries scan only the tenant's partition")
+    void userQueries_shouldPruneToTheTenantsPartition() throws Exception {
+        assertPruned("user_tenant_role", () -> userRepository.findByIdAndUserTenantRoles_TenantId(UUID.randomUUID(), TEST_TENANT_ID));
+        assertPruned("user_tenant_role", () -> userRepository.findByUserCredentials_EmailIgnoreCase_AndUserTenantRoles_TenantId("employee.default@email.com", TEST_TENANT_ID));
+        assertPruned("user_tenant_role", () -> userRepository.findAllByTenantAndRoles(TEST_TENANT_ID, Set.of(EMPLOYEE)));
+        assertPruned("user_tenant_role", () -> userRepository.findByContactEmail("employee.default@email.com"));
+    }
+
+    /**
+     * Fails unless the query reads {@code table} through exactly one partition, the one the test tenant hashes to, and
+     * reads every other partitioned table through that tenant's partition only.
+     */
+    private void assertPruned(String table, Supplier<?> query) throws Exception {
+        CapturingDataSourceConfiguration.drain();
+        tenantExecutor.executeAsTenant(TEST_TENANT_ID, query);
+
+        List<CapturedQuery> selects = QueryPlans.selects(CapturingDataSourceConfiguration.drain());
+        assertThat(selects).isNotEmpty();
+
+        Set<String> scannedPartitionsOfTable = new HashSet<>();
+        for (CapturedQuery select : selects) {
+            List<String> relations = QueryPlans.scansOf(dataSource, objectMapper, select).stream()
+                    .map(QueryPlans.Scan::relation)
+                    .toList();
+            for (String partitioned : PARTITIONED_TABLES) {
+                List<String> partitions = relations.stream().filter(relation -> relation.matches(partitioned + "_p\\d+")).distinct().toList();
+                assertThat(partitions)
+                        .as("partitions of %s scanned by %s", partitioned, select.sql())
+                        .isSubsetOf(partitionOf(partitioned, TEST_TENANT_ID));
+                if (partitioned.equals(table)) scannedPartitionsOfTable.addAll(partitions);
+            }
+        }
+        assertThat(scannedPartitionsOfTable)
+                .as("partitions of %s scanned by %s", table, selects.stream().map(CapturedQuery::sql).toList())
+                .containsExactly(partitionOf(table, TEST_TENANT_ID));
+    }
+
+    // The partition PostgreSQL routes the tenant's rows to, whatever its hash function
+    private String partitionOf(String table, UUID tenantId) {
+        Integer remainder = jdbcTemplate.queryForObject(
+                "SELECT r FROM generate_series(0, ?) r WHERE satisfies_hash_partition(?::regclass, ?, r, ?::uuid)",
+                Integer.class,
+                PARTITIONS - 1, table, PARTITIONS, tenantId
+        );
+        return table + "_p" + remainder;
+    }
+}
@@ -0,0 +1,110 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.department.dto.DepartmentResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.department.service.DepartmentService;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.dto.PositionResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.service.PositionService;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantService;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.service.UserService;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingStatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Single-statement reads by id")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.droid.zero.multitenantaipayrollsystem.test.config.CapturingStatementInspector")
+class ProjectionReadIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Tenant by id - One statement")
+    void findTenantById_shouldRunOneStatement() {
+        // Act
+        TenantResponse tenant = asTestTenant(() -> tenantService.findById(TEST_TENANT_ID));
+
+        // Assert
+        assertThat(tenant.name()).isEqualTo("Default Tenant");
+        assertOneStatement("tenants");
+    }
+
+    @Test
+    @DisplayName("User by id - One statement")
+    void findUserById_shouldRunOneStatement() {
+        // Arrange
+        UUID userId = jdbcTemplate.queryForObject("SELECT user_id FROM user_tenant_role WHERE tenant_id = ? LIMIT 1", UUID.class, TEST_TENANT_ID);
+
+        // Act
+        UserResponse user = asTestTenant(() -> userService.findById(userId));
+
+        // Assert
+        assertThat(user.id()).isEqualTo(userId);
+        assertOneStatement("users");
+    }
+
+    @Test
+    @DisplayName("Department by id - One statement")
+    void findDepartmentById_shouldRunOneStatement() {
+        // Arrange
+        UUID departmentId = asTestTenant(() -> departmentService.save(new DepartmentRequest("Engineering", "Engineering Department"))).id();
+
+        // Act
+        DepartmentResponse department = asTestTenant(() -> departmentService.findById(departmentId));
+
+        // Assert
+        assertThat(department.name()).isEqualTo("Engineering");
+        assertOneStatement("departments");
+    }
+
+    @Test
+    @DisplayName("Position by id - One statement")
+    void findPositionById_shouldRunOneStatement() {
+        // Arrange
+        UUID positionId = asTestTenant(() -> positionService.save(new PositionRequest("Engineer", "Software Engineer", "Senior"))).id();
+
+        // Act
+        PositionResponse position = asTestTenant(() -> positionService.findById(positionId));
+
+        // Assert
+        assertThat(position.title()).isEqualTo("Engineer");
+        assertOneStatement("positions");
+    }
+
+    private <T> T asTestTenant(Supplier<T> action) {
+        CapturingStatementInspector.drain();
+        return TenantContext.callAsTenant(TEST_TENANT_ID, action::get);
+    }
+
+    private static void assertOneStatement(String table) {
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.getFirst()).contains(table);
+    }
+}
@@ -0,0 +1,181 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.auth.repository.UserCredentialsRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.repository.PositionRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration.CapturedQuery;
+import org.droid.zero.multitenantaipayrollsystem.test.config.QueryPlans;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.EMPLOYEE;
+
+/**
+ * Plans every repository lookup against a realistically sized data set and fails when one of them reads a large table
+ * sequentially, so a dropped index or a query that stops using one is caught here rather than in production.
+ * {@code findAll} is left out: it lists a whole table by design.
+ */
+@DisplayName("Query plans of repository lookups")
+@Import(CapturingDataSourceConfiguration.class)
+class QueryPlanRegressionIntegrationTest extends BaseIntegrationTest {
+
+    private static final int TENANTS = 2000;
+    private static final int ROWS_PER_TENANT = 25;
+    private static final int USERS = 20000;
+
+    // Below this a sequential scan is as cheap as an index scan, and the planner rightly prefers it
+    private static final double MAX_SEQUENTIAL_SCAN_ROWS = 1000;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCredentialsRepository userCredentialsRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void removeSyntheticData() {
+        jdbcTemplate.update("DELETE FROM user_tenant_roles_mapping WHERE user_tenant_role_id IN (SELECT utr.id FROM user_tenant_role utr JOIN tenants t ON t.id = utr.tenant_id WHERE t.industry = 'Synthetic')");
+        jdbcTemplate.update("DELETE FROM user_tenant_role WHERE tenant_id IN (SELECT id FROM tenants WHERE industry = 'Synthetic')");
+        jdbcTemplate.update("DELETE FROM user_credentials WHERE id IN (SELECT id FROM users WHERE contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM users WHERE contact_email LIKE 'synthetic.user%'");
+        jdbcTemplate.update("DELETE FROM departments WHERE tenant_id IN (SELECT id FROM tenants WHERE industry = 'Synthetic')");
+        jdbcTemplate.update("DELETE FROM positions WHERE tenant_id IN (SELECT id FROM tenants WHERE industry = 'Synthetic')");
+        jdbcTemplate.update("DELETE FROM tenants WHERE industry = 'Synthetic'");
+    }
+
+    @Test
+    @DisplayName("Repository lookups do not sequentially scan large tables")
+    void repositoryLookups_shouldNotSequentiallyScanLargeTables() throws Exception {
+        // Arrange
+        seedSyntheticData();
+        UUID id = UUID.randomUUID();
+
+        // Act & Assert
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByNameIgnoreCase("Default Tenant"));
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByEmailIgnoreCase("tenant.default@email.com"));
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByPhone("9999999"));
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByNameIgnoreCaseAndIdNot("Default Tenant", id));
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByEmailIgnoreCaseAndIdNot("tenant.default@email.com", id));
+        assertNoLargeSequentialScans(() -> tenantRepository.existsByPhoneAndIdNot("9999999", id));
+        assertNoLargeSequentialScans(() -> tenantRepository.findByEmailIgnoreCase("tenant.default@email.com"));
+        assertNoLargeSequentialScans(() -> tenantRepository.findById(id));
+        assertNoLargeSequentialScans(() -> tenantRepository.search("synthetic", "%synthetic%", Limit.of(20)));
+
+        assertNoLargeSequentialScans(() -> userRepository.findById(id));
+        assertNoLargeSequentialScans(() -> userRepository.findByIdAndUserTenantRoles_TenantId(id, TEST_TENANT_ID));
+        assertNoLargeSequentialScans(() -> userRepository.findByUserCredentials_EmailIgnoreCase_AndUserTenantRoles_TenantId("employee.default@email.com", TEST_TENANT_ID));
+        assertNoLargeSequentialScans(() -> userRepository.findAllByTenantAndRoles(TEST_TENANT_ID, Set.of(EMPLOYEE)));
+        assertNoLargeSequentialScans(() -> userRepository.findByContactEmail("employee.default@email.com"));
+        assertNoLargeSequentialScans(() -> userCredentialsRepository.findByUserId(id));
+        assertNoLargeSequentialScans(() -> userRepository.search(TEST_TENANT_ID, "synthetic", "%synthetic%", Limit.of(20)));
+
+        assertNoLargeSequentialScans(() -> departmentRepository.existsByNameIgnoreCase("Engineering"));
+        assertNoLargeSequentialScans(() -> departmentRepository.findById(id));
+        assertNoLargeSequentialScans(() -> positionRepository.existsByTitleIgnoreCase("Engineer"));
+        assertNoLargeSequentialScans(() -> positionRepository.findById(id));
+        assertNoLargeSequentialScans(() -> departmentRepository.search("department", "%department%", Limit.of(20)));
+        assertNoLargeSequentialScans(() -> positionRepository.search("position", "%position%", Limit.of(20)));
+    }
+
+    private void seedSyntheticData() {
+        jdbcTemplate.update("""
+                INSERT INTO tenants (id, version, name, email, phone, industry, is_active)
+                SELECT gen_random_uuid(), 0, 'Synthetic Tenant ' || n, 'synthetic.tenant' || n || '@email.com', 'synthetic-' || n, 'Synthetic', TRUE
+                FROM generate_series(1, ?) n
+                """, TENANTS);
+        jdbcTemplate.update("""
+                INSERT INTO departments (id, tenant_id, version, name, description, is_active)
+                SELECT gen_random_uuid(), t.id, 0, 'Department ' || n, 'Synthetic', TRUE
+                FROM tenants t CROSS JOIN generate_series(1, ?) n
+                WHERE t.industry = 'Synthetic'
+                """, ROWS_PER_TENANT);
+        jdbcTemplate.update("""
+                INSERT INTO positions (id, tenant_id, version, title, description, level, is_active)
+                SELECT gen_random_uuid(), t.id, 0, 'Position ' || n, 'Synthetic', 'Synthetic', TRUE
+                FROM tenants t CROSS JOIN generate_series(1, ?) n
+                WHERE t.industry = 'Synthetic'
+                """, ROWS_PER_TENANT);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, version, first_name, last_name, contact_email, is_active, is_verified)
+                SELECT gen_random_uuid(), 0, 'Synthetic', 'User ' || n, 'synthetic.user' || n || '@email.com', TRUE, TRUE
+                FROM generate_series(1, ?) n
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO user_credentials (id, version, email, password_hash)
+                SELECT id, 0, contact_email, 'synthetic'
+                FROM users
+                WHERE contact_email LIKE 'synthetic.user%'
+                """);
+        jdbcTemplate.update("""
+                WITH t AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM tenants WHERE industry = 'Synthetic'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE contact_email LIKE 'synthetic.user%')
+                INSERT INTO user_tenant_role (id, tenant_id, version, user_id)
+                SELECT gen_random_uuid(), t.id, 0, u.id
+                FROM u JOIN t ON t.n = u.n % ?
+                """, TENANTS);
+        jdbcTemplate.update("""
+                INSERT INTO user_tenant_roles_mapping (user_tenant_role_id, roles)
+                SELECT utr.id, 'EMPLOYEE'
+                FROM user_tenant_role utr JOIN tenants t ON t.id = utr.tenant_id
+                WHERE t.industry = 'Synthetic'
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void assertNoLargeSequentialScans(Supplier<?> query) throws Exception {
+        CapturingDataSourceConfiguration.drain();
+        tenantExecutor.executeAsTenant(TEST_TENANT_ID, query);
+
+        List<CapturedQuery> selects = QueryPlans.selects(CapturingDataSourceConfiguration.drain());
+        assertThat(selects).isNotEmpty();
+
+        for (CapturedQuery select : selects) {
+            for (QueryPlans.Scan scan : QueryPlans.scansOf(dataSource, objectMapper, select)) {
+                if (!scan.nodeType().equals("Seq Scan")) continue;
+                assertThat(estimatedRows(scan.relation()))
+                        .as("rows of %s read sequentially by %s", scan.relation(), select.sql())
+                        .isLessThanOrEqualTo(MAX_SEQUENTIAL_SCAN_ROWS);
+            }
+        }
+    }
+
+    private double estimatedRows(String relation) {
+        Double rows = jdbcTemplate.queryForObject(
+                "SELECT coalesce(max(reltuples), 0) FROM pg_class WHERE relname = ? AND relkind = 'r'",
+                Double.class,
+                relation
+        );
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,119 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReplicaLagMonitor;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a second, independently migrated Postgres standing in for the replica. Nothing replicates between
+ * the two, so a row that only exists on the replica shows which of them a transaction read from.
+ */
+@DisplayName("Read replica routing")
+class ReadReplicaRoutingIntegrationTest extends BaseIntegrationTest {
+
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private JdbcTemplate replicaJdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .locations("classpath:db/migrations")
+                .load()
+                .migrate();
+
+        registry.add("datasource.replica.enabled", () -> "true");
+        registry.add("datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("datasource.replica.username", REPLICA::getUsername);
+        registry.add("datasource.replica.password", REPLICA::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword()));
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        // Read-your-writes is tracked per tenant here, and every test reads as a tenant of its own
+        SecurityContextHolder.clearContext();
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions read from the replica until the caller writes")
+    void readOnlyTransactions_shouldReadFromReplica_untilTheCallerWrites() {
+        // Arrange
+        UUID tenantId = seedDepartmentOnReplica("Replica Only");
+
+        // Act & Assert
+        assertThat(departmentExists(readOnly, tenantId, "Replica Only")).isTrue();
+        assertThat(departmentExists(readWrite, tenantId, "Replica Only")).isFalse();
+
+        // The read-write transaction above counts as a write, so this tenant now reads its own writes on the primary
+        assertThat(departmentExists(readOnly, tenantId, "Replica Only")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions fall back to the primary while the replica is unavailable")
+    void readOnlyTransactions_shouldFallBackToPrimary_whileTheReplicaIsUnavailable() {
+        // Arrange
+        UUID tenantId = seedDepartmentOnReplica("Replica Only");
+        replicaLagMonitor.markUnavailable();
+
+        // Act & Assert
+        assertThat(departmentExists(readOnly, tenantId, "Replica Only")).isFalse();
+
+        replicaLagMonitor.check();
+        assertThat(departmentExists(readOnly, tenantId, "Replica Only")).isTrue();
+    }
+
+    private UUID seedDepartmentOnReplica(String name) {
+        UUID tenantId = UUID.randomUUID();
+        replicaJdbcTemplate.update("""
+                INSERT INTO tenants (id, version, name, email, phone, industry, is_active)
+                VALUES (?, 0, ?, ?, ?, 'Synthetic', TRUE)
+                """, tenantId, "Replica Tenant " + tenantId, "replica." + tenantId + "@email.com", "replica-" + tenantId);
+        replicaJdbcTemplate.update("""
+                INSERT INTO departments (id, tenant_id, version, name, description, is_active)
+                VALUES (gen_random_uuid(), ?, 0, ?, 'Synthetic', TRUE)
+                """, tenantId, name);
+        return tenantId;
+    }
+
+    private boolean departmentExists(TransactionTemplate transactionTemplate, UUID tenantId, String name) {
+        return TenantContext.callAsTenant(tenantId, () -> transactionTemplate.execute(status -> departmentRepository.existsByNameIgnoreCase(name)));
+    }
+}
@@ -1,5 +1,6 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
 
+import com.jayway.jsonpath.JsonPath;
 import org.apache.http.HttpHeaders;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Optional;
 import java.util.Set;
@@ -117,6 +119,57 @@ class TenantIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("Check findAllTenants (GET) - Pages by cursor and filters")
+    void findAllTenants_Success_PagesByCursor() throws Exception {
+        //Arrange
+        tenantRepository.save(new Tenant("Second Tenant", "second@email.com", "2222222", "Default Industry"));
+        tenantRepository.save(new Tenant("Third Tenant", "third@email.com", "3333333", "Other Industry"));
+
+        //Act & Assert
+        MvcResult firstPage = this.mockMvc.perform(get(BASE_URL + "/tenants")
+                        .param("limit", "2")
+                        .param("includeTotal", "true")
+                        .header(HttpHeaders.AUTHORIZATION, SUPER_ADMIN_TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Find All Success"))
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].name").value("Default Tenant"))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty())
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        this.mockMvc.perform(get(BASE_URL + "/tenants")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, SUPER_ADMIN_TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].name").value("Third Tenant"))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty())
+                .andExpect(jsonPath("$.data.total").isEmpty());
+
+        this.mockMvc.perform(get(BASE_URL + "/tenants")
+                        .param("industry", "default")
+                        .header(HttpHeaders.AUTHORIZATION, SUPER_ADMIN_TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[*].name", containsInAnyOrder("Default Tenant", "Second Tenant")));
+    }
+
+    @Test
+    @DisplayName("Check findAllTenants (GET) - Forbidden for Tenant Admin")
+    void findAllTenants_Forbidden_TenantAdmin() throws Exception {
+        //Act & Assert
+        this.mockMvc.perform(get(BASE_URL + "/tenants")
+                        .header(HttpHeaders.AUTHORIZATION, TENANT_ADMIN_TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Check addTenant with valid input (POST)")
     void addTenant_Success() throws Exception {
@@ -0,0 +1,195 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantUpdatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReplicaLagMonitor;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient.TENANT_INVALIDATION_CHANNEL;
+import static org.mockito.Mockito.*;
+
+class TenantRegistryTest extends BaseUnitTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private RedisCacheClient redisCacheClient;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaRouter readReplicaRouter;
+
+    private TenantRegistry tenantRegistry;
+
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        readReplicaRouter = new ReadReplicaRouter(Optional.of(replicaLagMonitor), meterRegistry);
+        tenantRegistry = new TenantRegistry(tenantRepository, redisCacheClient, meterRegistry, readReplicaRouter);
+        ReflectionTestUtils.setField(tenantRegistry, "unknownTtlMillis", 30_000L);
+        ReflectionTestUtils.setField(tenantRegistry, "maxUnknownEntries", 100);
+        ReflectionTestUtils.invokeMethod(tenantRegistry, "init");
+
+        tenant = new Tenant("Tenant Name", "test@example.com", "11111111111", "Test Industry");
+        tenant.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void find_shouldServeLoadedTenants_withoutQueryingTheDatabase() {
+        // Arrange
+        when(tenantRepository.findAll()).thenReturn(List.of(tenant));
+        tenantRegistry.refresh();
+
+        // Act
+        Optional<TenantRegistry.RegisteredTenant> found = tenantRegistry.find(tenant.getId());
+
+        // Assert
+        assertThat(found).hasValueSatisfying(registered -> assertThat(registered.active()).isTrue());
+        verify(tenantRepository, never()).findById(tenant.getId());
+        assertThat(meterRegistry.get("tenant.registry.hit.ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void find_shouldRememberUnknownTenants() {
+        // Arrange
+        UUID unknownId = UUID.randomUUID();
+        when(tenantRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        // Act
+        tenantRegistry.find(unknownId);
+        Optional<TenantRegistry.RegisteredTenant> found = tenantRegistry.find(unknownId);
+
+        // Assert
+        assertThat(found).isEmpty();
+        verify(tenantRepository, times(1)).findById(unknownId);
+        assertThat(meterRegistry.get("tenant.registry.lookups").tag("result", "unknown").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void handleTenantUpdatedEvent_shouldReloadTenant_andNotifyOtherNodes() {
+        // Arrange
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        tenantRegistry.find(tenant.getId());
+        tenant.toggleActiveStatus();
+
+        // Act
+        tenantRegistry.handleTenantUpdatedEvent(new TenantUpdatedEvent(tenant.getId()));
+
+        // Assert
+        assertThat(tenantRegistry.find(tenant.getId())).hasValueSatisfying(registered -> assertThat(registered.active()).isFalse());
+        verify(redisCacheClient, times(1)).publish(TENANT_INVALIDATION_CHANNEL, tenant.getId().toString());
+    }
+
+    @Test
+    void onMessage_shouldEvictTenantsChangedOnOtherNodes() {
+        // Arrange
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        tenantRegistry.find(tenant.getId());
+        byte[] body = tenant.getId().toString().getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        tenantRegistry.onMessage(new DefaultMessage(new byte[0], body), null);
+        tenantRegistry.find(tenant.getId());
+
+        // Assert
+        verify(tenantRepository, times(2)).findById(tenant.getId());
+    }
+
+    @Test
+    void refresh_shouldNotResurrectATenant_evictedWhileTheSnapshotWasLoading() {
+        // Arrange
+        when(tenantRepository.findAll()).thenReturn(List.of(tenant));
+        tenantRegistry.refresh();
+        when(tenantRepository.findAll()).thenAnswer(invocation -> {
+            tenantRegistry.handleTenantUpdatedEvent(new TenantUpdatedEvent(tenant.getId()));
+            return List.of(tenant);
+        });
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+
+        // Act
+        tenantRegistry.refresh();
+
+        // Assert
+        assertThat(tenantRegistry.peek(tenant.getId())).isEmpty();
+        tenantRegistry.find(tenant.getId());
+        verify(tenantRepository, times(1)).findById(tenant.getId());
+    }
+
+    @Test
+    void find_shouldNotRememberATenantAsUnknown_whenItIsCreatedDuringTheLookup() {
+        // Arrange
+        UUID createdId = tenant.getId();
+        when(tenantRepository.findById(createdId))
+                .thenAnswer(invocation -> {
+                    tenantRegistry.handleTenantCreatedEvent(new TenantCreatedEvent(createdId, "Tenant Name", "test@example.com", "generated"));
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(tenant));
+
+        // Act
+        Optional<TenantRegistry.RegisteredTenant> first = tenantRegistry.find(createdId);
+        Optional<TenantRegistry.RegisteredTenant> second = tenantRegistry.find(createdId);
+
+        // Assert
+        assertThat(first).isEmpty();
+        assertThat(second).isPresent();
+        verify(tenantRepository, times(2)).findById(createdId);
+    }
+
+    @Test
+    void handleTenantCreatedEvent_shouldForgetATenantRememberedAsUnknown() {
+        // Arrange
+        when(tenantRepository.findById(tenant.getId()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(tenant));
+        tenantRegistry.find(tenant.getId());
+
+        // Act
+        tenantRegistry.handleTenantCreatedEvent(new TenantCreatedEvent(tenant.getId(), "Tenant Name", "test@example.com", "generated"));
+
+        // Assert
+        assertThat(tenantRegistry.find(tenant.getId())).isPresent();
+    }
+
+    @Test
+    void find_shouldLookUpTenantsMissingFromTheRegistryOnThePrimary() {
+        // Arrange
+        UUID createdId = UUID.randomUUID();
+        List<ReadReplicaRouter.Route> routes = new ArrayList<>();
+        when(tenantRepository.findById(createdId)).thenAnswer(invocation -> {
+            readReplicaRouter.transactionStarted(true);
+            routes.add(readReplicaRouter.route());
+            readReplicaRouter.transactionEnded();
+            return Optional.empty();
+        });
+
+        // Act
+        tenantRegistry.find(createdId);
+
+        // Assert
+        assertThat(routes).containsExactly(ReadReplicaRouter.Route.PRIMARY);
+    }
+}
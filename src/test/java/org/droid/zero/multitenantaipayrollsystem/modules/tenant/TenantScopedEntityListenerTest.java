@@ -0,0 +1,103 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.listener.TenantScopedEntityListener;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.UserTenantRole;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.EMPLOYEE;
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.SUPER_ADMIN;
+
+class TenantScopedEntityListenerTest extends BaseUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TenantScopedEntityListener listener = new TenantScopedEntityListener(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) completeTransaction();
+        TenantContext.clear();
+        setupSecurityContext(SUPER_ADMIN);
+    }
+
+    // The principal of a bearer request carries its active roles, unlike the one set up by BaseUnitTest
+    private void authenticateAs(UserRole role) {
+        User user = User.fromTokenClaims(UUID.randomUUID(), "user@example.com", Set.of(role));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    // What the transaction manager does when a transaction ends
+    private void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private UserTenantRole entityOf(UUID tenantId) {
+        UserTenantRole entity = new UserTenantRole();
+        ReflectionTestUtils.setField(entity, "tenantId", tenantId);
+        return entity;
+    }
+
+    @Test
+    void checkTenant_shouldRejectAndCount_rowsOfAnotherTenant() {
+        // Arrange
+        authenticateAs(EMPLOYEE);
+        TenantContext.setTenantId(UUID.randomUUID());
+
+        // Act & Assert
+        assertThatThrownBy(() -> listener.checkTenant(entityOf(UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(meterRegistry.get("tenant.ownership.violations").tag("entity", "UserTenantRole").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void checkTenant_shouldAllow_ownRowsAndSuperAdminsAcrossTenants() {
+        // Arrange
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setTenantId(tenantId);
+
+        // Act
+        authenticateAs(EMPLOYEE);
+        listener.checkTenant(entityOf(tenantId));
+        authenticateAs(SUPER_ADMIN);
+        listener.checkTenant(entityOf(UUID.randomUUID()));
+
+        // Assert
+        assertThat(meterRegistry.find("tenant.ownership.violations").counters()).allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    @Test
+    void checkTenant_shouldResolveCrossTenantAccessOncePerTransaction() {
+        // Arrange
+        TenantContext.setTenantId(UUID.randomUUID());
+        authenticateAs(SUPER_ADMIN);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        listener.checkTenant(entityOf(UUID.randomUUID()));
+        authenticateAs(EMPLOYEE);
+        listener.checkTenant(entityOf(UUID.randomUUID()));
+        completeTransaction();
+
+        // Assert
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+        assertThatThrownBy(() -> listener.checkTenant(entityOf(UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
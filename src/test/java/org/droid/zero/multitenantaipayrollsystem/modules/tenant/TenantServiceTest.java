@@ -1,13 +1,24 @@
 package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantResponse;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantSearchRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantStorageRequest;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.dto.TenantTierRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantCreatedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.events.TenantTierChangedEvent;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.mapper.TenantMapper;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantServiceImpl;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantStorageMover;
+import org.droid.zero.multitenantaipayrollsystem.system.SingleFlight;
+import org.droid.zero.multitenantaipayrollsystem.system.api.CursorPage;
+import org.droid.zero.multitenantaipayrollsystem.system.api.KeysetCursor;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.DuplicateResourceException;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.InvalidCursorException;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
 import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +29,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +52,9 @@ class TenantServiceTest extends BaseUnitTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private TenantStorageMover tenantStorageMover;
+
     private final TenantMapper tenantMapper = Mappers.getMapper(TenantMapper.class);
     private TenantServiceImpl tenantService;
 
@@ -48,7 +64,7 @@ class TenantServiceTest extends BaseUnitTest {
 
     @BeforeEach
     void setUp() {
-        tenantService = new TenantServiceImpl(tenantRepository, tenantMapper, applicationEventPublisher);
+        tenantService = new TenantServiceImpl(tenantRepository, tenantMapper, applicationEventPublisher, tenantStorageMover, new SingleFlight(new SimpleMeterRegistry()));
 
         tenant = new Tenant(
                 "Tenant Name",
@@ -70,7 +86,7 @@ class TenantServiceTest extends BaseUnitTest {
     @Test
     void findById_shouldReturnTenant_whenUserExists() {
         //Arrange
-        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+        when(tenantRepository.findResponseById(tenantId)).thenReturn(Optional.of(tenantMapper.toResponse(tenant)));
 
         //Act
         TenantResponse foundTenant = tenantService.findById(tenantId);
@@ -83,13 +99,13 @@ class TenantServiceTest extends BaseUnitTest {
         assertEquals("Test Industry", foundTenant.industry());
         assertTrue(foundTenant.active());
 
-        verify(tenantRepository, times(1)).findById(tenantId);
+        verify(tenantRepository, times(1)).findResponseById(tenantId);
     }
 
     @Test
     void findById_shouldThrowException_whenTenantDoesNotExist() {
         //Arrange
-        when(tenantRepository.findById(tenantId)).thenReturn(Optional.empty());
+        when(tenantRepository.findResponseById(tenantId)).thenReturn(Optional.empty());
 
         //Act
         Throwable thrown = catchThrowable(()-> tenantService.findById(tenantId));
@@ -99,7 +115,7 @@ class TenantServiceTest extends BaseUnitTest {
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find TENANT with ID '" + tenantId + "'.");
 
-        verify(tenantRepository, times(1)).findById(tenantId);
+        verify(tenantRepository, times(1)).findResponseById(tenantId);
     }
 
     @Test
@@ -342,4 +358,76 @@ class TenantServiceTest extends BaseUnitTest {
         //Assert
         assertEquals("newIndustry", updatedTenant.industry());
     }
-}
\ No newline at end of file
+
+    @Test
+    void changeTier_shouldUpdateTier_andPublishEvent_whenTenantExists() {
+        //Arrange
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+
+        //Act
+        TenantResponse updatedTenant = tenantService.changeTier(new TenantTierRequest(TenantTier.ENTERPRISE), tenantId);
+
+        //Assert
+        assertEquals(TenantTier.ENTERPRISE, updatedTenant.tier());
+        verify(applicationEventPublisher, times(1)).publishEvent(new TenantTierChangedEvent(tenantId, TenantTier.ENTERPRISE));
+    }
+
+    @Test
+    void changeTier_shouldThrowException_whenTenantDoesNotExist() {
+        //Arrange
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.empty());
+
+        //Act
+        Throwable thrown = catchThrowable(() -> tenantService.changeTier(new TenantTierRequest(TenantTier.FREE), tenantId));
+
+        //Assert
+        assertThat(thrown).isInstanceOf(ObjectNotFoundException.class);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void changeStorage_shouldMoveTenantToDedicatedSchema_whenRequested() {
+        //Arrange
+        when(tenantRepository.findResponseById(tenantId)).thenReturn(Optional.of(tenantMapper.toResponse(tenant)));
+
+        //Act
+        tenantService.changeStorage(new TenantStorageRequest(true), tenantId);
+
+        //Assert
+        verify(tenantStorageMover, times(1)).moveToDedicated(tenantId);
+        verify(tenantStorageMover, never()).moveToShared(any());
+    }
+
+    @Test
+    void findAll_shouldReturnOnePageAndItsCursor_withoutCounting() {
+        //Arrange
+        Tenant second = new Tenant("Second Tenant", "second@example.com", "22222222222", "Test Industry");
+        second.setId(UUID.randomUUID());
+        Tenant third = new Tenant("Third Tenant", "third@example.com", "33333333333", "Test Industry");
+        third.setId(UUID.randomUUID());
+        doReturn(List.of(tenant, second, third)).when(tenantRepository).findBy(any(Specification.class), any());
+
+        //Act
+        CursorPage<TenantResponse> page = tenantService.findAll(
+                new TenantSearchRequest(null, null, null, "test", true, null, 2, null)
+        );
+
+        //Assert
+        assertThat(page.items()).extracting(TenantResponse::id).containsExactly(tenantId, second.getId());
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(new KeysetCursor(second.getCreatedAt(), second.getId()));
+        assertThat(page.total()).isNull();
+        verify(tenantRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void findAll_shouldRejectMalformedCursors() {
+        //Act
+        Throwable thrown = catchThrowable(() -> tenantService.findAll(
+                new TenantSearchRequest(null, null, null, null, null, "not-a-cursor", null, null)
+        ));
+
+        //Assert
+        assertThat(thrown).isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(tenantRepository);
+    }
+}
@@ -0,0 +1,96 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.tenant;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantSchemaMigrator;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantStorageMover;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ResourceConflictException;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TenantStorageMoverTest extends BaseUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TenantSchemaMigrator tenantSchemaMigrator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private TenantStorageMover tenantStorageMover;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tenantStorageMover = new TenantStorageMover(jdbcTemplate, transactionManager, tenantSchemaMigrator, eventPublisher);
+
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    @Test
+    void moveToDedicated_shouldReject_whileAnotherMoveOfTheTenantHoldsTheLock() throws Exception {
+        // Arrange
+        when(resultSet.getBoolean(1)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> tenantStorageMover.moveToDedicated(tenantId)).isInstanceOf(ResourceConflictException.class);
+        verify(connection, never()).prepareStatement(contains("pg_advisory_unlock"));
+        verifyNoInteractions(tenantSchemaMigrator, transactionManager);
+    }
+
+    @Test
+    void moveToDedicated_shouldReadTheSchemaUnderTheLock_andReleaseIt_whenTheTenantWasAlreadyMoved() throws Exception {
+        // Arrange
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(tenantId)))
+                .thenReturn(List.of(TenantStorageMover.dedicatedSchemaOf(tenantId)));
+
+        // Act
+        tenantStorageMover.moveToDedicated(tenantId);
+
+        // Assert
+        InOrder inOrder = inOrder(connection, jdbcTemplate);
+        inOrder.verify(connection).prepareStatement(contains("pg_try_advisory_lock"));
+        inOrder.verify(jdbcTemplate).queryForList(anyString(), eq(String.class), eq(tenantId));
+        inOrder.verify(connection).prepareStatement(contains("pg_advisory_unlock"));
+        verify(statement, times(2)).setString(1, tenantId.toString());
+        verifyNoInteractions(tenantSchemaMigrator, transactionManager);
+    }
+}
@@ -0,0 +1,170 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.department.repository.DepartmentRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.position.repository.PositionRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
+import org.droid.zero.multitenantaipayrollsystem.system.search.SearchRequest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration.CapturedQuery;
+import org.droid.zero.multitenantaipayrollsystem.test.config.QueryPlans;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times every fuzzy search against a million users, so a search that stops using its trigram index shows up as a
+ * latency regression. A tenth of the users belong to the test tenant and the rest are spread over other tenants, so
+ * the user search has to find its tenant's matches among everyone else's. Seeding takes minutes, so it only runs
+ * with {@code -Dperformance=true}.
+ * <p>
+ * The p50, p95 and p99 of every search, and the analyzed plan of the user search, are published as report entries,
+ * which end up in the Surefire XML report, so a run can be compared with the target even when it passes.
+ */
+@DisplayName("Fuzzy search latency")
+@EnabledIfSystemProperty(named = "performance", matches = "true")
+@Import(CapturingDataSourceConfiguration.class)
+class SearchLatencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final int USERS = 1_000_000;
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 200;
+    private static final Duration P95_TARGET = Duration.ofMillis(50);
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void removeSyntheticData() {
+        jdbcTemplate.update("DELETE FROM user_tenant_roles_mapping WHERE user_tenant_role_id IN (SELECT utr.id FROM user_tenant_role utr JOIN users u ON u.id = utr.user_id WHERE u.contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM user_tenant_role WHERE user_id IN (SELECT id FROM users WHERE contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM users WHERE contact_email LIKE 'synthetic.user%'");
+        jdbcTemplate.update("DELETE FROM departments WHERE description = 'Synthetic'");
+        jdbcTemplate.update("DELETE FROM positions WHERE description = 'Synthetic'");
+        jdbcTemplate.update("DELETE FROM tenants WHERE industry = 'Synthetic'");
+    }
+
+    @Test
+    @DisplayName("Searches meet their p95 latency target on a million users")
+    void searches_shouldMeetLatencyTarget(TestReporter testReporter) throws Exception {
+        // Arrange
+        seedSyntheticData();
+        SearchRequest request = new SearchRequest("jonathn", SearchRequest.DEFAULT_LIMIT);
+        Supplier<?> userSearch = () -> userRepository.search(TEST_TENANT_ID, request.term(), request.containsPattern(), request.resultLimit());
+
+        // Act & Assert
+        publishPlan(testReporter, "users", userSearch);
+        assertP95WithinTarget(testReporter, "users", userSearch);
+        assertP95WithinTarget(testReporter, "departments", () -> departmentRepository.search(request.term(), request.containsPattern(), request.resultLimit()));
+        assertP95WithinTarget(testReporter, "positions", () -> positionRepository.search(request.term(), request.containsPattern(), request.resultLimit()));
+        assertP95WithinTarget(testReporter, "tenants", () -> tenantRepository.search(request.term(), request.containsPattern(), request.resultLimit()));
+    }
+
+    private void seedSyntheticData() {
+        jdbcTemplate.update("""
+                INSERT INTO tenants (id, version, name, email, phone, industry, is_active)
+                SELECT gen_random_uuid(), 0, 'Synthetic Tenant ' || n, 'synthetic.tenant' || n || '@email.com', 'synthetic-' || n, 'Synthetic', TRUE
+                FROM generate_series(1, ?) n
+                """, ROWS);
+        // Names cycle through a small vocabulary with a numeric suffix, so a term matches many rows but not all of them
+        jdbcTemplate.update("""
+                INSERT INTO users (id, version, first_name, last_name, contact_email, is_active, is_verified)
+                SELECT gen_random_uuid(), 0,
+                       (ARRAY['Jonathan', 'Maria', 'Oluwaseun', 'Priya', 'Kenji'])[1 + n % 5],
+                       (ARRAY['Smith', 'Okafor', 'Tanaka', 'Garcia', 'Novak'])[1 + (n / 5) % 5] || n,
+                       'synthetic.user' || n || '@email.com', TRUE, TRUE
+                FROM generate_series(1, ?) n
+                """, USERS);
+        jdbcTemplate.update("""
+                WITH t AS (SELECT array_agg(id) AS ids FROM tenants WHERE industry = 'Synthetic'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users WHERE contact_email LIKE 'synthetic.user%')
+                INSERT INTO user_tenant_role (id, tenant_id, version, user_id)
+                SELECT gen_random_uuid(), CASE WHEN u.n % 10 = 0 THEN ?::uuid ELSE t.ids[1 + u.n % ?] END, 0, u.id
+                FROM u CROSS JOIN t
+                """, TEST_TENANT_ID, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO user_tenant_roles_mapping (user_tenant_role_id, roles)
+                SELECT utr.id, 'EMPLOYEE'
+                FROM user_tenant_role utr JOIN users u ON u.id = utr.user_id
+                WHERE u.contact_email LIKE 'synthetic.user%'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO departments (id, tenant_id, version, name, description, is_active)
+                SELECT gen_random_uuid(), ?, 0, (ARRAY['Engineering', 'Finance', 'Operations'])[1 + n % 3] || ' ' || n, 'Synthetic', TRUE
+                FROM generate_series(1, ?) n
+                """, TEST_TENANT_ID, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO positions (id, tenant_id, version, title, description, level, is_active)
+                SELECT gen_random_uuid(), ?, 0, (ARRAY['Engineer', 'Accountant', 'Analyst'])[1 + n % 3] || ' ' || n, 'Synthetic', 'Synthetic', TRUE
+                FROM generate_series(1, ?) n
+                """, TEST_TENANT_ID, ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void publishPlan(TestReporter testReporter, String resource, Supplier<?> search) throws Exception {
+        CapturingDataSourceConfiguration.drain();
+        tenantExecutor.executeAsTenant(TEST_TENANT_ID, search);
+
+        List<CapturedQuery> selects = QueryPlans.selects(CapturingDataSourceConfiguration.drain());
+        testReporter.publishEntry(resource + ".plan", QueryPlans.analyze(dataSource, selects.getFirst()));
+    }
+
+    private void assertP95WithinTarget(TestReporter testReporter, String resource, Supplier<?> search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            tenantExecutor.executeAsTenant(TEST_TENANT_ID, search);
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            tenantExecutor.executeAsTenant(TEST_TENANT_ID, search);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        Duration p95 = percentile(nanos, 0.95);
+        testReporter.publishEntry(Map.of(
+                resource + ".p50", percentile(nanos, 0.50).toString(),
+                resource + ".p95", p95.toString(),
+                resource + ".p99", percentile(nanos, 0.99).toString()
+        ));
+        assertThat(p95)
+                .as("p95 latency of %s search", resource)
+                .isLessThanOrEqualTo(P95_TARGET);
+    }
+
+    private static Duration percentile(long[] sortedNanos, double percentile) {
+        return Duration.ofNanos(sortedNanos[(int) Math.ceil(sortedNanos.length * percentile) - 1]);
+    }
+}
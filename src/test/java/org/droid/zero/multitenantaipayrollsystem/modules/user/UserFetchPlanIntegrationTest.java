@@ -0,0 +1,122 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseIntegrationTest;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingStatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.EMPLOYEE;
+
+@DisplayName("User fetch plans")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.droid.zero.multitenantaipayrollsystem.test.config.CapturingStatementInspector")
+class UserFetchPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final int USERS = 1_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeSyntheticUsers() {
+        jdbcTemplate.update("DELETE FROM user_tenant_roles_mapping WHERE user_tenant_role_id IN (SELECT utr.id FROM user_tenant_role utr JOIN users u ON u.id = utr.user_id WHERE u.contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM user_tenant_role WHERE user_id IN (SELECT id FROM users WHERE contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM user_credentials WHERE id IN (SELECT id FROM users WHERE contact_email LIKE 'synthetic.user%')");
+        jdbcTemplate.update("DELETE FROM users WHERE contact_email LIKE 'synthetic.user%'");
+    }
+
+    @Test
+    @DisplayName("Admin listing of 1,000 users - One statement")
+    void findAllByTenantAndRoles_shouldLoadRolesAndCredentialsInOneStatement() {
+        // Arrange
+        seedSyntheticUsers();
+
+        // Act
+        Set<User> users = asTestTenant(() -> userRepository.findAllByTenantAndRoles(TEST_TENANT_ID, Set.of(EMPLOYEE)));
+
+        // Assert
+        assertThat(users).hasSizeGreaterThan(USERS);
+        assertThat(users).allSatisfy(user -> {
+            assertThat(user.getRolesForTenant(TEST_TENANT_ID)).contains(EMPLOYEE);
+            assertThat(user.getUsername()).isNotBlank();
+        });
+        assertThat(CapturingStatementInspector.drain()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Search across 1,000 users - Roles and credentials are not loaded")
+    void search_shouldNotLoadRolesOrCredentials() {
+        // Arrange
+        seedSyntheticUsers();
+
+        // Act
+        List<User> users = asTestTenant(() -> userRepository.search(TEST_TENANT_ID, "synthetic", "%synthetic%", Limit.of(USERS)));
+
+        // Assert
+        assertThat(users).hasSize(USERS);
+        assertThat(CapturingStatementInspector.drain()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Authentication - One statement")
+    void loadUserByUsername_shouldLoadRolesAndCredentialsInOneStatement() {
+        // Act
+        UserDetails user = asTestTenant(() -> userDetailsService.loadUserByUsername("employee.default@email.com"));
+
+        // Assert
+        assertThat(user.getPassword()).isNotBlank();
+        assertThat(user.getAuthorities()).isNotEmpty();
+        assertThat(CapturingStatementInspector.drain()).hasSize(1);
+    }
+
+    private void seedSyntheticUsers() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, version, first_name, last_name, contact_email, is_active, is_verified)
+                SELECT gen_random_uuid(), 0, 'Synthetic', 'User ' || n, 'synthetic.user' || n || '@email.com', TRUE, TRUE
+                FROM generate_series(1, ?) n
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO user_credentials (id, version, email, password_hash)
+                SELECT id, 0, contact_email, 'synthetic'
+                FROM users
+                WHERE contact_email LIKE 'synthetic.user%'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO user_tenant_role (id, tenant_id, version, user_id)
+                SELECT gen_random_uuid(), ?, 0, id
+                FROM users
+                WHERE contact_email LIKE 'synthetic.user%'
+                """, TEST_TENANT_ID);
+        jdbcTemplate.update("""
+                INSERT INTO user_tenant_roles_mapping (user_tenant_role_id, roles)
+                SELECT utr.id, 'EMPLOYEE'
+                FROM user_tenant_role utr JOIN users u ON u.id = utr.user_id
+                WHERE u.contact_email LIKE 'synthetic.user%'
+                """);
+    }
+
+    private <T> T asTestTenant(Supplier<T> action) {
+        CapturingStatementInspector.drain();
+        return TenantContext.callAsTenant(TEST_TENANT_ID, action::get);
+    }
+}
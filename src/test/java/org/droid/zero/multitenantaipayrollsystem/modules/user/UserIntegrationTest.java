@@ -14,6 +14,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Set;
@@ -23,6 +24,7 @@ import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.Us
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +35,9 @@ class UserIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private TenantRepository tenantRepository;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @Test
     @DisplayName("Check findUserById (GET)")
     void findUserById_Success() throws Exception {
@@ -294,4 +299,42 @@ class UserIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.contactEmail").value("same@contactEmail.com"));
     }
+
+    @Test
+    @DisplayName("Check updateUserStatus (PATCH) invalidates the tokens already issued to the user")
+    void updateUserStatus_shouldInvalidateExistingTokens() throws Exception {
+        // Arrange - the test profile builds the principal from the token's claims, so only the security stamp
+        // can reject a token issued before the deactivation
+        User user = new User(
+                "John",
+                "Doe",
+                "john.doe@example.com",
+                Set.of(EMPLOYEE),
+                new UserCredentials(
+                        "john.doe@example.com",
+                        passwordEncoder.encode("password")
+                ),
+                TEST_TENANT_ID
+        );
+        user = createUser(user, TEST_TENANT_ID);
+        String token = getToken(TEST_TENANT_ID, "john.doe@example.com");
+
+        this.mockMvc.perform(get(BASE_URL + "/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // Act
+        this.mockMvc.perform(patch(BASE_URL + "/users/" + user.getId() + "/status")
+                        .header(HttpHeaders.AUTHORIZATION, TENANT_ADMIN_TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Update Success"));
+
+        // Assert
+        this.mockMvc.perform(get(BASE_URL + "/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+    }
 }
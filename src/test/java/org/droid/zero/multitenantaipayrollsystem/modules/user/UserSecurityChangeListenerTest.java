@@ -0,0 +1,92 @@
+package org.droid.zero.multitenantaipayrollsystem.modules.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.events.UserSecurityChangedEvent;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.listener.UserSecurityChangeListener;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
+import org.droid.zero.multitenantaipayrollsystem.modules.user.model.UserTenantRole;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.droid.zero.multitenantaipayrollsystem.modules.user.constant.UserRole.EMPLOYEE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserSecurityChangeListenerTest extends BaseUnitTest {
+
+    private static final int ACTIVE_INDEX = 3;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserSecurityChangeListener listener;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        listener = new UserSecurityChangeListener(entityManagerFactory, eventPublisher);
+        user = User.fromTokenClaims(UUID.randomUUID(), "user@example.com", Set.of(EMPLOYEE));
+    }
+
+    private PostUpdateEvent userUpdate(int... dirtyProperties) {
+        EntityPersister persister = mock(EntityPersister.class, RETURNS_DEEP_STUBS);
+        when(persister.getEntityMetamodel().getPropertyIndex("active")).thenReturn(ACTIVE_INDEX);
+        return new PostUpdateEvent(user, user.getId(), null, null, dirtyProperties, persister, null);
+    }
+
+    @Test
+    void onPostUpdate_shouldPublishEvent_whenActiveStateChanged() {
+        // Act
+        listener.onPostUpdate(userUpdate(1, ACTIVE_INDEX));
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(new UserSecurityChangedEvent(user.getId()));
+    }
+
+    @Test
+    void onPostUpdate_shouldNotPublishEvent_whenOnlyTheProfileChanged() {
+        // Act
+        listener.onPostUpdate(userUpdate(1, 2));
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onPostUpdateCollection_shouldPublishEvent_whenRolesChanged() {
+        // Arrange
+        PostCollectionUpdateEvent event = mock(PostCollectionUpdateEvent.class);
+        when(event.getAffectedOwnerOrNull()).thenReturn(new UserTenantRole(Set.of(EMPLOYEE), user, UUID.randomUUID()));
+
+        // Act
+        listener.onPostUpdateCollection(event);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(new UserSecurityChangedEvent(user.getId()));
+    }
+
+    @Test
+    void onPostDelete_shouldPublishEvent_whenMembershipRemoved() {
+        // Arrange
+        UserTenantRole membership = new UserTenantRole(Set.of(EMPLOYEE), user, UUID.randomUUID());
+
+        // Act
+        listener.onPostDelete(new PostDeleteEvent(membership, UUID.randomUUID(), null, mock(EntityPersister.class), null));
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(new UserSecurityChangedEvent(user.getId()));
+    }
+}
@@ -3,7 +3,7 @@ package org.droid.zero.multitenantaipayrollsystem.modules.user;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.dto.CredentialsRegistrationRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.auth.model.UserCredentials;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
-import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserRegistrationRequest;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.dto.UserResponse;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.mapper.UserMapper;
@@ -15,6 +15,7 @@ import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.DuplicateResourceException;
 import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ObjectNotFoundException;
 import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,7 +47,7 @@ class UserServiceTest extends BaseUnitTest {
     private UserRepository userRepository;
 
     @Mock
-    private TenantRepository tenantRepository;
+    private TenantRegistry tenantRegistry;
 
     @Mock TenantExecutor tenantExecutor;
 
@@ -64,7 +65,7 @@ class UserServiceTest extends BaseUnitTest {
     void setUp() {
         userService = new UserServiceImpl(
                 userRepository,
-                tenantRepository,
+                tenantRegistry,
                 userMapper,
                 passwordEncoder,
                 tenantExecutor
@@ -109,10 +110,15 @@ class UserServiceTest extends BaseUnitTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
     void findById_shouldReturnUser_whenUserExists() {
         // Arrange
-        when(userRepository.findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId())).thenReturn(Optional.of(user));
+        when(userRepository.findResponseByIdAndTenantId(userId, TenantContext.getTenantId())).thenReturn(Optional.of(userMapper.toResponse(user)));
 
         // Act
         UserResponse foundUser = userService.findById(userId);
@@ -121,26 +127,26 @@ class UserServiceTest extends BaseUnitTest {
         assertThat(foundUser).isNotNull();
         assertThat(foundUser.id()).isEqualTo(userId);
         assertThat(foundUser.contactEmail()).isEqualTo("test@example.com");
-        verify(userRepository, times(1)).findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId());
+        verify(userRepository, times(1)).findResponseByIdAndTenantId(userId, TenantContext.getTenantId());
     }
 
     @Test
     void findById_shouldThrowException_whenUserDoesNotExist() {
         // Arrange
-        when(userRepository.findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId())).thenReturn(Optional.empty());
+        when(userRepository.findResponseByIdAndTenantId(userId, TenantContext.getTenantId())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.findById(userId))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find USER with ID '" + userId + "'.");
         
-        verify(userRepository, times(1)).findByIdAndUserTenantRoles_TenantId(userId, TenantContext.getTenantId());
+        verify(userRepository, times(1)).findResponseByIdAndTenantId(userId, TenantContext.getTenantId());
     }
 
     @Test
     void save_shouldSaveAndReturnUser_whenRequestIsValid() {
         // Arrange
-        when(tenantRepository.existsById(tenantId)).thenReturn(true);
+        when(tenantRegistry.exists(tenantId)).thenReturn(true);
         when(userRepository.findByContactEmail(anyString())).thenReturn(Optional.empty());
         when(userRepository.save(any(User.class))).thenReturn(user);
         // Act
@@ -159,7 +165,7 @@ class UserServiceTest extends BaseUnitTest {
     @Test
     void save_shouldThrowException_whenEmailAlreadyExists() {
         // Arrange
-        when(tenantRepository.existsById(tenantId)).thenReturn(true);
+        when(tenantRegistry.exists(tenantId)).thenReturn(true);
         when(userRepository.findByContactEmail(anyString())).thenReturn(Optional.of(user));
 
         // Act
@@ -182,4 +188,28 @@ class UserServiceTest extends BaseUnitTest {
         assertThat(thrown.getResourceType())
                 .isEqualTo(USER);
     }
+
+    @Test
+    void toggleUserStatus_shouldDeactivateUser_whenUserExists() {
+        // Arrange
+        when(userRepository.findByIdAndUserTenantRoles_TenantId(userId, tenantId)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.toggleUserStatus(userId);
+
+        // Assert
+        assertThat(user.isActive()).isFalse();
+        assertThat(user.isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void toggleUserStatus_shouldThrowException_whenUserDoesNotExist() {
+        // Arrange
+        when(userRepository.findByIdAndUserTenantRoles_TenantId(userId, tenantId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.toggleUserStatus(userId))
+                .isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find USER with ID '" + userId + "'.");
+    }
 }
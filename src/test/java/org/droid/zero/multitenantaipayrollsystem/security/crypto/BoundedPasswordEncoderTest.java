@@ -0,0 +1,78 @@
+package org.droid.zero.multitenantaipayrollsystem.security.crypto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ServiceUnavailableException;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest extends BaseUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void encode_shouldProduceHashesTheDelegateCanVerify() {
+        // Arrange
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, meterRegistry)) {
+
+            // Act
+            String hash = encoder.encode("password");
+
+            // Assert
+            assertThat(encoder.matches("password", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void encode_shouldShedLoad_whenThreadsAndQueueAreFull() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            waitForQueueDepth(0, running);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            waitForQueueDepth(1, queued);
+
+            // Act & Assert
+            assertThatThrownBy(() -> encoder.encode("third"))
+                    .isInstanceOf(ServiceUnavailableException.class);
+            assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+        }
+    }
+
+    private void waitForQueueDepth(int depth, CompletableFuture<?> submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // The first task counts once it has been taken off the queue by the single hashing thread
+        while (System.nanoTime() < deadline) {
+            double queued = meterRegistry.get("auth.password.hash.queue.depth").gauge().value();
+            double waited = meterRegistry.get("auth.password.hash.queue.wait").timer().count();
+            if (queued == depth && (depth > 0 || waited == 1) && !submitted.isDone()) return;
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.AdaptiveConcurrencyLimiter;
+import org.droid.zero.multitenantaipayrollsystem.security.ratelimit.RequestPriority;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTest extends BaseUnitTest {
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter.Permit permit;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(
+                limiter,
+                new ErrorResponseWriter(new ObjectMapper()),
+                "/api/v1",
+                new String[]{"/auth/login", " /auth/refresh", "/payroll/**/approve"}
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "POST, /api/v1/auth/login, CRITICAL",
+            "POST, /api/v1/auth/refresh, CRITICAL",
+            "POST, /api/v1/payroll/2026-10/runs/7/approve, CRITICAL",
+            "GET, /api/v1/auth/login, CRITICAL",
+            "GET, /api/v1/departments, SHEDDABLE",
+            "POST, /api/v1/departments, NORMAL",
+            "DELETE, /api/v1/positions/1, NORMAL",
+            "POST, /api/v1/payroll/2026-10/approve/all, NORMAL"
+    })
+    void doFilter_shouldClassifyRequests_byCriticalPathThenMethod(String method, String path, RequestPriority expected) throws Exception {
+        // Arrange
+        when(limiter.tryAcquire(any())).thenReturn(permit);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        verify(limiter).tryAcquire(expected);
+    }
+
+    @Test
+    void doFilter_shouldAnswer503WithRetryAfter_whenThePrioritysShareIsInUse() throws Exception {
+        // Arrange
+        when(limiter.tryAcquire(RequestPriority.SHEDDABLE)).thenReturn(null);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/departments"), response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("service_unavailable");
+    }
+
+    @Test
+    void doFilter_shouldReleaseThePermit_evenWhenTheChainFails() {
+        // Arrange
+        when(limiter.tryAcquire(any())).thenReturn(permit);
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(
+                new MockHttpServletRequest("POST", "/api/v1/departments"),
+                new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new ServletException("boom");
+                }
+        )).isInstanceOf(ServletException.class);
+        verify(permit).release();
+    }
+
+    @Test
+    void doFilter_shouldNotLimitHealthProbes() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+        verifyNoInteractions(limiter);
+    }
+}
@@ -0,0 +1,185 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.system.api.ErrorResponseWriter;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitCheckFilterTest extends BaseUnitTest {
+
+    private static final String EMAIL = "employee.default@email.com";
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    @Mock
+    private RedisCacheClient redisCacheClient;
+
+    private RateLimitCheckFilter filter;
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitCheckFilter(redisCacheClient, new ErrorResponseWriter(new ObjectMapper()));
+        tenantId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void doFilter_shouldPassLoginAttemptsThrough_whileBothWindowsHaveRoom() throws Exception {
+        // Arrange
+        when(redisCacheClient.recordLoginAttempt(anyString(), eq(EMAIL), eq(tenantId), eq(CLIENT_IP), eq(5), eq(50), eq(900_000L))).thenReturn(0L);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(loginRequest(), response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    @Test
+    void doFilter_shouldRejectWith429AndRetryAfter_whenAWindowIsFull() throws Exception {
+        // Arrange
+        when(redisCacheClient.recordLoginAttempt(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyLong())).thenReturn(61_500L);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(loginRequest(), response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("62"); // Rounded up to whole seconds
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("rate_limit_exceeded");
+        verify(redisCacheClient, never()).resetLoginAttempts(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void doFilter_shouldAllowAgain_onceTheWindowHasRoomAgain() throws Exception {
+        // Arrange
+        when(redisCacheClient.recordLoginAttempt(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyLong()))
+                .thenReturn(1_000L)
+                .thenReturn(0L);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(loginRequest(), rejected, new MockFilterChain());
+        filter.doFilter(loginRequest(), allowed, chain);
+
+        // Assert
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(allowed.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void doFilter_shouldClearTheAccountWindow_afterASuccessfulLogin() throws Exception {
+        // Arrange
+        when(redisCacheClient.recordLoginAttempt(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyLong())).thenReturn(0L);
+
+        // Act
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        ArgumentCaptor<String> attemptId = ArgumentCaptor.forClass(String.class);
+        verify(redisCacheClient).recordLoginAttempt(attemptId.capture(), eq(EMAIL), eq(tenantId), eq(CLIENT_IP), anyInt(), anyInt(), anyLong());
+        verify(redisCacheClient).resetLoginAttempts(attemptId.getValue(), EMAIL, tenantId, CLIENT_IP);
+    }
+
+    @Test
+    void doFilter_shouldNotLockOutASharedAddress_whenManyAccountsLogInSuccessfully() throws Exception {
+        // Arrange
+        Set<String> ipWindow = new HashSet<>();
+        when(redisCacheClient.recordLoginAttempt(anyString(), anyString(), anyString(), eq(CLIENT_IP), anyInt(), anyInt(), anyLong()))
+                .thenAnswer(invocation -> {
+                    if (ipWindow.size() >= invocation.<Integer>getArgument(5)) return 1_000L;
+                    ipWindow.add(invocation.getArgument(0));
+                    return 0L;
+                });
+        doAnswer(invocation -> ipWindow.remove(invocation.<String>getArgument(0)))
+                .when(redisCacheClient).resetLoginAttempts(anyString(), anyString(), anyString(), eq(CLIENT_IP));
+
+        // Act
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(loginRequest("user" + i + "@email.com"), response, new MockFilterChain());
+            statuses.add(response.getStatus());
+        }
+
+        // Assert
+        assertThat(statuses).containsOnly(200);
+        assertThat(ipWindow).isEmpty();
+    }
+
+    @Test
+    void doFilter_shouldKeepCounting_afterAFailedLogin() throws Exception {
+        // Arrange
+        when(redisCacheClient.recordLoginAttempt(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyLong())).thenReturn(0L);
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                ((MockHttpServletResponse) response).setStatus(401);
+            }
+        };
+
+        // Act
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), failingChain);
+
+        // Assert
+        verify(redisCacheClient, never()).resetLoginAttempts(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void doFilter_shouldNotTouchRedis_forRequestsWithoutCredentialsOrTenant() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/departments"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+        verifyNoInteractions(redisCacheClient);
+    }
+
+    private MockHttpServletRequest loginRequest() {
+        return loginRequest(EMAIL);
+    }
+
+    private MockHttpServletRequest loginRequest(String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(CLIENT_IP);
+        request.addHeader("X-Tenant-ID", tenantId);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder().encodeToString((email + ":password").getBytes(StandardCharsets.UTF_8)));
+        return request;
+    }
+}
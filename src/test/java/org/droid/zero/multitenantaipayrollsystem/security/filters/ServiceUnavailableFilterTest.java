@@ -0,0 +1,58 @@
+package org.droid.zero.multitenantaipayrollsystem.security.filters;
+
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ExceptionHandlerAdvice;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.ServiceUnavailableException;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceUnavailableFilterTest extends BaseUnitTest {
+
+    private ServiceUnavailableFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("exceptionHandlerAdvice", ExceptionHandlerAdvice.class);
+        context.refresh();
+
+        ExceptionHandlerExceptionResolver resolver = new ExceptionHandlerExceptionResolver();
+        resolver.setApplicationContext(context);
+        resolver.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter()));
+        resolver.afterPropertiesSet();
+
+        filter = new ServiceUnavailableFilter(resolver);
+    }
+
+    @Test
+    void doFilter_shouldAnswer503_whenASecurityFilterShedsTheRequest() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(
+                new MockHttpServletRequest("POST", "/api/v1/auth/login"),
+                response,
+                (request, ignored) -> {
+                    throw new ServiceUnavailableException("Too many concurrent password checks. Please try again later.");
+                }
+        );
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("service_unavailable");
+    }
+}
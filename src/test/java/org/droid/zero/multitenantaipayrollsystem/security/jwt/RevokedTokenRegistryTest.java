@@ -0,0 +1,107 @@
+package org.droid.zero.multitenantaipayrollsystem.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenRegistryTest extends BaseUnitTest {
+
+    @Mock
+    private RedisCacheClient redisCacheClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RevokedTokenRegistry createRegistry(Map<String, String> storedRevocations) {
+        when(redisCacheClient.scanBlacklist()).thenReturn(storedRevocations);
+
+        RevokedTokenRegistry registry = new RevokedTokenRegistry(redisCacheClient, meterRegistry);
+        ReflectionTestUtils.setField(registry, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registry, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.setField(registry, "maxExactEntries", 100);
+        ReflectionTestUtils.invokeMethod(registry, "init");
+        return registry;
+    }
+
+    @Test
+    void isRevoked_shouldNotQueryRedis_forTokensThatWereNeverRevoked() {
+        // Arrange
+        RevokedTokenRegistry registry = createRegistry(Map.of());
+
+        // Act
+        boolean revoked = registry.isRevoked(UUID.randomUUID().toString());
+
+        // Assert
+        assertThat(revoked).isFalse();
+        verify(redisCacheClient, never()).isTokenBlacklisted(anyString());
+    }
+
+    @Test
+    void isRevoked_shouldReturnTrue_forRevocationsLoadedAtStartup() {
+        // Arrange
+        String jti = UUID.randomUUID().toString();
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        RevokedTokenRegistry registry = createRegistry(Map.of(jti, Long.toString(expiresAt)));
+
+        // Act & Assert
+        assertThat(registry.isRevoked(jti)).isTrue();
+        verify(redisCacheClient, never()).isTokenBlacklisted(anyString());
+    }
+
+    @Test
+    void revoke_shouldStoreLocally_andBroadcastToOtherNodes() {
+        // Arrange
+        RevokedTokenRegistry registry = createRegistry(Map.of());
+        String jti = UUID.randomUUID().toString();
+
+        // Act
+        registry.revoke(jti, 60_000, 300);
+
+        // Assert
+        assertThat(registry.isRevoked(jti)).isTrue();
+        verify(redisCacheClient).blacklistToken(jti, 60_000);
+        verify(redisCacheClient).publish(eq(RedisCacheClient.TOKEN_REVOCATION_CHANNEL), endsWith(":" + jti));
+        assertThat(meterRegistry.get("auth.revocation.redis.bytes.saved").counter().count()).isEqualTo(300 - jti.length());
+    }
+
+    @Test
+    void onMessage_shouldApplyRevocationsFromOtherNodes() {
+        // Arrange
+        RevokedTokenRegistry registry = createRegistry(Map.of());
+        String jti = UUID.randomUUID().toString();
+        String body = (System.currentTimeMillis() + 60_000) + ":" + jti;
+
+        // Act
+        registry.onMessage(new DefaultMessage(new byte[0], body.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void isRevoked_shouldFallBackToRedis_whenRevocationsCouldNotBeLoaded() {
+        // Arrange
+        when(redisCacheClient.scanBlacklist()).thenThrow(new IllegalStateException("redis unavailable"));
+        RevokedTokenRegistry registry = new RevokedTokenRegistry(redisCacheClient, meterRegistry);
+        ReflectionTestUtils.setField(registry, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registry, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.invokeMethod(registry, "init");
+        String jti = UUID.randomUUID().toString();
+        when(redisCacheClient.isTokenBlacklisted(jti)).thenReturn(true);
+
+        // Act & Assert
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+}
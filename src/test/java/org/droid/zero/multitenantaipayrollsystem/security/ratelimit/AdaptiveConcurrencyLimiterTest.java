@@ -0,0 +1,113 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest extends BaseUnitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Far from zero, as System.nanoTime() is
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(42));
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, now::get);
+    }
+
+    @Test
+    void tryAcquire_shouldShedLowerPrioritiesFirst_andCountTheDrops() {
+        // Arrange
+        for (int i = 0; i < 7; i++) assertThat(limiter.tryAcquire(RequestPriority.SHEDDABLE)).isNotNull();
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit read = limiter.tryAcquire(RequestPriority.SHEDDABLE);
+        AdaptiveConcurrencyLimiter.Permit login = limiter.tryAcquire(RequestPriority.CRITICAL);
+
+        // Assert
+        assertThat(read).isNull();
+        assertThat(login).isNotNull();
+        assertThat(meterRegistry.get("http.concurrency.drops").tag("priority", "sheddable").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.concurrency.in.flight").gauge().value()).isEqualTo(8);
+
+        login.release();
+        assertThat(limiter.inFlight()).isEqualTo(7);
+    }
+
+    @Test
+    void record_shouldGrowTheLimitWhileLatencyHolds_andCutItOnceRequestsQueue() {
+        // Arrange
+        for (int i = 0; i < 200; i++) complete(RequestPriority.SHEDDABLE, RTT, 10);
+        int grown = limiter.limit();
+
+        // Act
+        complete(RequestPriority.SHEDDABLE, RTT * 5, 10);
+
+        // Assert
+        assertThat(grown).isGreaterThan(10);
+        assertThat(limiter.limit()).isLessThan(grown);
+        assertThat(meterRegistry.get("http.concurrency.limit").gauge().value()).isEqualTo(limiter.limit());
+    }
+
+    @Test
+    void record_shouldCompareEachPriorityWithItsOwnBaseline_soSlowLoginsDoNotShrinkTheLimit() {
+        // Arrange
+        for (int i = 0; i < 50; i++) complete(RequestPriority.SHEDDABLE, RTT, 10);
+        int before = limiter.limit();
+
+        // Act
+        for (int i = 0; i < 50; i++) complete(RequestPriority.CRITICAL, RTT * 30, 10);
+
+        // Assert
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(before);
+        assertThat(limiter.tryAcquire(RequestPriority.SHEDDABLE)).isNotNull();
+    }
+
+    @Test
+    void record_shouldFollowASlowerBaseline_onceAWindowHasOnlySeenSlowerRequests() {
+        // Arrange
+        for (int i = 0; i < 10; i++) complete(RequestPriority.NORMAL, RTT, 10);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        complete(RequestPriority.NORMAL, RTT * 3, 10); // closes the window of fast requests
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        complete(RequestPriority.NORMAL, RTT * 3, 10); // closes a window of slower ones only
+        int settled = limiter.limit();
+
+        // Act
+        for (int i = 0; i < 20; i++) complete(RequestPriority.NORMAL, RTT * 3, 10);
+
+        // Assert
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(settled);
+    }
+
+    @Test
+    void release_shouldMeasureTheRoundTripWithTheInjectedClock() {
+        // Arrange
+        for (int i = 0; i < 10; i++) complete(RequestPriority.SHEDDABLE, RTT, 10);
+        int before = limiter.limit();
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(RequestPriority.SHEDDABLE);
+
+        // Act
+        now.addAndGet(RTT * 10);
+        permit.release();
+
+        // Assert
+        assertThat(limiter.limit()).isLessThan(before);
+    }
+
+    private void complete(RequestPriority priority, long rttNanos, int concurrent) {
+        now.addAndGet(rttNanos);
+        limiter.record(priority, rttNanos, concurrent);
+    }
+}
@@ -0,0 +1,97 @@
+package org.droid.zero.multitenantaipayrollsystem.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.client.redis.RedisCacheClient;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TenantQuotaServiceTest extends BaseUnitTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    @Mock
+    private RedisCacheClient redisCacheClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TenantQuotaService tenantQuotaService;
+
+    private TenantRegistry.RegisteredTenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenantQuotaService = new TenantQuotaService(tenantRegistry, redisCacheClient, meterRegistry);
+        ReflectionTestUtils.setField(tenantQuotaService, "idleBucketTtlMillis", 300_000L);
+
+        tenant = new TenantRegistry.RegisteredTenant(UUID.randomUUID(), true, TenantTier.FREE, Map.of(), null);
+        when(tenantRegistry.find(tenant.id())).thenReturn(Optional.of(tenant));
+    }
+
+    @Test
+    void tryAcquire_shouldRejectUser_afterUserBurstIsSpent() {
+        // Arrange
+        String userId = UUID.randomUUID().toString();
+        for (int i = 0; i < TenantTier.FREE.userCapacity(); i++) {
+            assertThat(tenantQuotaService.tryAcquire(tenant.id(), userId).allowed()).isTrue();
+        }
+
+        // Act
+        QuotaDecision decision = tenantQuotaService.tryAcquire(tenant.id(), userId);
+
+        // Assert
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.scope()).isEqualTo("user");
+        assertThat(decision.retryAfterSeconds()).isPositive();
+        assertThat(meterRegistry.get("tenant.quota.rejections").tag("tier", "FREE").tag("scope", "user").counter().count()).isEqualTo(1);
+        verifyNoInteractions(redisCacheClient);
+    }
+
+    @Test
+    void tryAcquire_shouldRejectTenant_afterTenantBurstIsSpentAcrossUsers() {
+        // Arrange
+        for (int i = 0; i < TenantTier.FREE.tenantCapacity(); i++) {
+            tenantQuotaService.tryAcquire(tenant.id(), UUID.randomUUID().toString());
+        }
+
+        // Act
+        QuotaDecision decision = tenantQuotaService.tryAcquire(tenant.id(), UUID.randomUUID().toString());
+
+        // Assert
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.scope()).isEqualTo("tenant");
+        assertThat(decision.limit()).isEqualTo(TenantTier.FREE.tenantCapacity());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_shouldDeductUsageFromOtherNodes() {
+        // Arrange
+        tenantQuotaService.tryAcquire(tenant.id(), null);
+        when(redisCacheClient.addQuotaUsage(anyList(), anyList(), anyLong()))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L + TenantTier.FREE.tenantCapacity()));
+
+        // Act
+        tenantQuotaService.reconcile();
+        tenantQuotaService.reconcile();
+
+        // Assert
+        assertThat(tenantQuotaService.tryAcquire(tenant.id(), null).allowed()).isFalse();
+    }
+}
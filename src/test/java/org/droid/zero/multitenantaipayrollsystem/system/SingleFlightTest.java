@@ -0,0 +1,100 @@
+package org.droid.zero.multitenantaipayrollsystem.system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.system.ResourceType.DEPARTMENT;
+
+class SingleFlightTest extends BaseUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SingleFlight singleFlight;
+
+    private final UUID departmentId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+    @Test
+    void execute_shouldShareOneLoad_betweenConcurrentIdenticalReads() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(DEPARTMENT, departmentId, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "Engineering";
+            }), executor);
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act
+            CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute(DEPARTMENT, departmentId, () -> {
+                loads.incrementAndGet();
+                return "Stale";
+            }), executor);
+            while (collapsed() == 0) Thread.onSpinWait();
+            release.countDown();
+
+            // Assert
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Engineering");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Engineering");
+            assertThat(loads).hasValue(1);
+        }
+    }
+
+    @Test
+    void forget_shouldLetLaterReadsStartTheirOwnLoad() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<String> before = CompletableFuture.supplyAsync(() -> singleFlight.execute(DEPARTMENT, departmentId, () -> {
+                loading.countDown();
+                await(release);
+                return "Before";
+            }), executor);
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act
+            singleFlight.forget(DEPARTMENT, departmentId);
+            String after = singleFlight.execute(DEPARTMENT, departmentId, () -> "After");
+            release.countDown();
+
+            // Assert
+            assertThat(after).isEqualTo("After");
+            assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("Before");
+            assertThat(collapsed()).isZero();
+        }
+    }
+
+    private double collapsed() {
+        return meterRegistry.get("single.flight.collapsed").tag("resource", "department").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
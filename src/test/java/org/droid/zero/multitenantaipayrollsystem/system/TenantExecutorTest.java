@@ -0,0 +1,68 @@
+package org.droid.zero.multitenantaipayrollsystem.system;
+
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TenantExecutorTest extends BaseUnitTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void executeForEachTenant_shouldCollectResultsAndFailures_perTenant() {
+        // Arrange
+        TenantExecutor tenantExecutor = new TenantExecutor(transactionManager);
+        UUID healthy = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+
+        // Act
+        TenantBatchResult<UUID> batch = tenantExecutor.executeForEachTenant(List.of(healthy, broken), 2, tenantId -> {
+            if (tenantId.equals(broken)) throw new IllegalStateException("boom");
+            return TenantContext.getTenantId();
+        });
+
+        // Assert
+        assertThat(batch.results()).containsOnlyKeys(healthy).containsEntry(healthy, healthy);
+        assertThat(batch.failures()).containsOnlyKeys(broken);
+        assertThat(batch.failures().get(broken)).isInstanceOf(IllegalStateException.class);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void executeForEachTenant_shouldNotExceedParallelism() {
+        // Arrange
+        TenantExecutor tenantExecutor = new TenantExecutor(transactionManager);
+        List<UUID> tenantIds = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // Act
+        TenantBatchResult<Integer> batch = tenantExecutor.executeForEachTenant(tenantIds, 3, tenantId -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return running.decrementAndGet();
+        });
+
+        // Assert
+        assertThat(batch.hasFailures()).isFalse();
+        assertThat(batch.results()).hasSize(50);
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+}
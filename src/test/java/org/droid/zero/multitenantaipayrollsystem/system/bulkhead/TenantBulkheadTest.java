@@ -0,0 +1,74 @@
+package org.droid.zero.multitenantaipayrollsystem.system.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.exceptions.TooManyRequestsException;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.droid.zero.multitenantaipayrollsystem.system.bulkhead.TenantBulkhead.MAX_CONCURRENT_TRANSACTIONS_SETTING;
+import static org.mockito.Mockito.when;
+
+class TenantBulkheadTest extends BaseUnitTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TenantBulkhead tenantBulkhead;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        tenantBulkhead = new TenantBulkhead(tenantRegistry, meterRegistry);
+        ReflectionTestUtils.setField(tenantBulkhead, "maxWaitMillis", 10L);
+    }
+
+    @Test
+    void acquire_shouldRejectAndCount_onceTheTierLimitIsHeld() {
+        // Arrange
+        when(tenantRegistry.peek(tenantId)).thenReturn(Optional.of(
+                new TenantRegistry.RegisteredTenant(tenantId, true, TenantTier.FREE, Map.of(), null)
+        ));
+        tenantBulkhead.acquire(tenantId);
+        TenantBulkhead.Permit second = tenantBulkhead.acquire(tenantId);
+
+        // Act & Assert
+        assertThatThrownBy(() -> tenantBulkhead.acquire(tenantId)).isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("tenant.bulkhead.rejections").tag("tenant", tenantId.toString()).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tenant.bulkhead.permits.in.use").gauge().value()).isEqualTo(2);
+
+        second.close();
+        tenantBulkhead.acquire(tenantId);
+    }
+
+    @Test
+    void acquire_shouldApplyTheSettingsOverride_andLeaveOtherTenantsAlone() {
+        // Arrange
+        UUID otherTenantId = UUID.randomUUID();
+        when(tenantRegistry.peek(tenantId)).thenReturn(Optional.of(
+                new TenantRegistry.RegisteredTenant(tenantId, true, TenantTier.ENTERPRISE, Map.of(MAX_CONCURRENT_TRANSACTIONS_SETTING, "1"), null)
+        ));
+        when(tenantRegistry.peek(otherTenantId)).thenReturn(Optional.empty());
+
+        // Act
+        tenantBulkhead.acquire(tenantId);
+
+        // Assert
+        assertThatThrownBy(() -> tenantBulkhead.acquire(tenantId)).isInstanceOf(TooManyRequestsException.class);
+        tenantBulkhead.acquire(otherTenantId);
+        assertThat(tenantBulkhead.acquire(null)).isSameAs(TenantBulkhead.Permit.NONE);
+    }
+}
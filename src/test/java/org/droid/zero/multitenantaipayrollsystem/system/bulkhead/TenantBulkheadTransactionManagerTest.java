@@ -0,0 +1,111 @@
+package org.droid.zero.multitenantaipayrollsystem.system.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+class TenantBulkheadTransactionManagerTest extends BaseUnitTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    @Mock
+    private ReadReplicaRouter readReplicaRouter;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction entityTransaction;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    private TransactionTemplate requiresNew;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        lenient().when(entityManager.getTransaction()).thenReturn(entityTransaction);
+        lenient().when(entityTransaction.isActive()).thenReturn(true);
+        when(tenantRegistry.peek(tenantId)).thenReturn(Optional.of(
+                new TenantRegistry.RegisteredTenant(tenantId, true, TenantTier.FREE, Map.of(), null)
+        ));
+
+        TenantBulkhead tenantBulkhead = new TenantBulkhead(tenantRegistry, meterRegistry);
+        ReflectionTestUtils.setField(tenantBulkhead, "maxWaitMillis", 10L);
+        TenantBulkheadTransactionManager transactionManager = new TenantBulkheadTransactionManager(tenantBulkhead, readReplicaRouter);
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void nestedRequiresNewTransactions_shouldShareTheOutermostPermit_insteadOfExhaustingTheTenantsLimit() {
+        // Act
+        Double heldInside = TenantContext.callAsTenant(tenantId, () ->
+                requiresNew.execute(outer ->
+                        requiresNew.execute(middle ->
+                                requiresNew.execute(inner -> permitsInUse())
+                        )
+                )
+        );
+
+        // Assert
+        assertThat(heldInside).isEqualTo(1);
+        assertThat(permitsInUse()).isZero();
+        assertThat(meterRegistry.find("tenant.bulkhead.rejections").counter().count()).isZero();
+    }
+
+    @Test
+    void nestedTransactions_forAnotherTenant_shouldTakeAPermitOfTheirOwn() {
+        // Arrange
+        UUID otherTenantId = UUID.randomUUID();
+        when(tenantRegistry.peek(otherTenantId)).thenReturn(Optional.empty());
+
+        // Act
+        Double otherPermitsInUse = TenantContext.callAsTenant(tenantId, () ->
+                requiresNew.execute(outer ->
+                        TenantContext.callAsTenant(otherTenantId, () ->
+                                requiresNew.execute(inner -> meterRegistry.get("tenant.bulkhead.permits.in.use")
+                                        .tag("tenant", otherTenantId.toString())
+                                        .gauge()
+                                        .value())
+                        )
+                )
+        );
+
+        // Assert
+        assertThat(otherPermitsInUse).isEqualTo(1);
+        assertThat(permitsInUse()).isZero();
+    }
+
+    private double permitsInUse() {
+        return meterRegistry.get("tenant.bulkhead.permits.in.use").tag("tenant", tenantId.toString()).gauge().value();
+    }
+}
@@ -0,0 +1,65 @@
+package org.droid.zero.multitenantaipayrollsystem.system.context;
+
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantContextTest extends BaseUnitTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void runAsTenant_shouldRestoreEnclosingTenant_evenWhenActionFails() {
+        // Arrange
+        UUID outer = UUID.randomUUID();
+        UUID inner = UUID.randomUUID();
+        AtomicReference<UUID> seen = new AtomicReference<>();
+
+        // Act
+        TenantContext.runAsTenant(outer, () ->
+                assertThatThrownBy(() -> TenantContext.runAsTenant(inner, () -> {
+                    seen.set(TenantContext.getTenantId());
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class)
+        );
+
+        // Assert
+        assertThat(seen.get()).isEqualTo(inner);
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+
+    @Test
+    void wrap_shouldCarryTenantAndSecurityContext_toVirtualThreads() throws Exception {
+        // Arrange
+        UUID tenantId = UUID.randomUUID();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            Future<Object[]> child = TenantContext.callAsTenant(tenantId, () -> executor.submit(TenantContext.wrap(
+                    () -> new Object[]{TenantContext.getTenantId(), SecurityContextHolder.getContext().getAuthentication()}
+            )));
+
+            // Assert
+            Object[] seen = child.get(5, TimeUnit.SECONDS);
+            assertThat(seen[0]).isEqualTo(tenantId);
+            assertThat(seen[1]).isSameAs(authentication);
+            assertThat(TenantContext.getTenantId()).isNull();
+        }
+    }
+}
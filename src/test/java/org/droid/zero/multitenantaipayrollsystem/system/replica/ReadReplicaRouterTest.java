@@ -0,0 +1,133 @@
+package org.droid.zero.multitenantaipayrollsystem.system.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter.Route.PRIMARY;
+import static org.droid.zero.multitenantaipayrollsystem.system.replica.ReadReplicaRouter.Route.REPLICA;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRouterTest extends BaseUnitTest {
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ReadReplicaRouter(Optional.of(replicaLagMonitor), meterRegistry);
+    }
+
+    @Test
+    void route_shouldUseReplica_forReadOnlyTransactionsWithinTheLagLimit() {
+        // Arrange
+        when(replicaLagMonitor.lagMillis()).thenReturn(200L);
+        router.transactionStarted(true);
+
+        // Act & Assert
+        assertThat(router.route()).isEqualTo(REPLICA);
+        assertThat(meterRegistry.get("db.reads.routed").tag("target", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void route_shouldUsePrimary_outsideReadOnlyTransactions() {
+        // Act & Assert
+        assertThat(router.route()).isEqualTo(PRIMARY);
+
+        router.transactionStarted(false);
+        assertThat(router.route()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void route_shouldFollowTheInnermostTransaction() {
+        // Arrange
+        when(replicaLagMonitor.lagMillis()).thenReturn(0L);
+        router.transactionStarted(false);
+        router.transactionStarted(true);
+
+        // Act & Assert
+        assertThat(router.route()).isEqualTo(REPLICA);
+
+        router.transactionEnded();
+        assertThat(router.route()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void route_shouldFallBackToPrimary_whenTheReplicaLagsTooFarBehind() {
+        // Arrange
+        when(replicaLagMonitor.lagMillis()).thenReturn(ReplicaLagMonitor.UNAVAILABLE);
+        router.transactionStarted(true);
+
+        // Act & Assert
+        assertThat(router.route()).isEqualTo(PRIMARY);
+        assertThat(meterRegistry.get("db.reads.routed").tag("target", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void route_shouldKeepReadingFromPrimary_untilTheCallersWriteHasHadTimeToReplicate() {
+        TenantContext.runAsTenant(UUID.randomUUID(), () -> {
+            // Arrange
+            when(replicaLagMonitor.lagMillis()).thenReturn(0L);
+            router.writeCommitted();
+            router.transactionStarted(true);
+
+            // Act & Assert
+            assertThat(router.route()).isEqualTo(PRIMARY);
+
+            ReflectionTestUtils.setField(router, "readYourWritesMillis", -1L);
+            assertThat(router.route()).isEqualTo(REPLICA);
+        });
+    }
+
+    @Test
+    void route_shouldUsePrimary_forReadOnlyTransactionsBegunOnPrimary() {
+        // Arrange
+        router.transactionStarted(true);
+
+        // Act
+        ReadReplicaRouter.Route inScope = router.callOnPrimary(router::route);
+
+        // Assert
+        assertThat(inScope).isEqualTo(PRIMARY);
+        assertThat(meterRegistry.get("db.reads.routed").tag("target", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callOnPrimary_shouldOnlyPinTheEnclosedCalls() {
+        // Arrange
+        when(replicaLagMonitor.lagMillis()).thenReturn(0L);
+        router.transactionStarted(true);
+
+        // Act
+        ReadReplicaRouter.Route nested = router.callOnPrimary(() -> {
+            router.callOnPrimary(() -> null);
+            return router.route();
+        });
+
+        // Assert
+        assertThat(nested).isEqualTo(PRIMARY);
+        assertThat(router.route()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void route_shouldUsePrimary_whenNoReplicaIsConfigured() {
+        // Arrange
+        ReadReplicaRouter withoutReplica = new ReadReplicaRouter(Optional.empty(), meterRegistry);
+        withoutReplica.transactionStarted(true);
+
+        // Act & Assert
+        assertThat(withoutReplica.route()).isEqualTo(PRIMARY);
+    }
+}
@@ -0,0 +1,76 @@
+package org.droid.zero.multitenantaipayrollsystem.system.resolver;
+
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.constant.TenantTier;
+import org.droid.zero.multitenantaipayrollsystem.modules.tenant.service.TenantRegistry;
+import org.droid.zero.multitenantaipayrollsystem.test.config.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class TenantSchemaConnectionProviderTest extends BaseUnitTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    private TenantSchemaConnectionProvider connectionProvider;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connectionProvider = new TenantSchemaConnectionProvider(dataSource, tenantRegistry);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void getConnection_shouldSwitchTheSearchPath_andResetItOnRelease_forDedicatedTenants() throws Exception {
+        // Arrange
+        when(tenantRegistry.peek(tenantId)).thenReturn(Optional.of(
+                new TenantRegistry.RegisteredTenant(tenantId, true, TenantTier.ENTERPRISE, Map.of(), "tenant_abc")
+        ));
+        when(connection.createStatement()).thenReturn(statement);
+
+        // Act
+        Connection handedOut = connectionProvider.getConnection(tenantId);
+        connectionProvider.releaseConnection(tenantId, handedOut);
+
+        // Assert
+        verify(statement, times(1)).execute("SET search_path TO tenant_abc, public");
+        verify(statement, times(1)).execute("RESET search_path");
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void getConnection_shouldLeaveTheConnectionAlone_forSharedTenants() throws Exception {
+        // Arrange
+        when(tenantRegistry.peek(tenantId)).thenReturn(Optional.of(
+                new TenantRegistry.RegisteredTenant(tenantId, true, TenantTier.STANDARD, Map.of(), null)
+        ));
+
+        // Act
+        Connection handedOut = connectionProvider.getConnection(tenantId);
+        connectionProvider.releaseConnection(tenantId, handedOut);
+
+        // Assert
+        verify(connection, never()).createStatement();
+        verify(connection, times(1)).close();
+    }
+}
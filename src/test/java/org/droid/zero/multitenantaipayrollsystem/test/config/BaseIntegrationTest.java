@@ -10,7 +10,6 @@ import org.droid.zero.multitenantaipayrollsystem.modules.tenant.model.Tenant;
 import org.droid.zero.multitenantaipayrollsystem.modules.tenant.repository.TenantRepository;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.model.User;
 import org.droid.zero.multitenantaipayrollsystem.modules.user.repository.UserRepository;
-import org.droid.zero.multitenantaipayrollsystem.security.filters.RateLimitCheckFilter;
 import org.droid.zero.multitenantaipayrollsystem.system.TenantExecutor;
 import org.droid.zero.multitenantaipayrollsystem.system.context.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,8 +73,6 @@ public class BaseIntegrationTest {
             @Autowired PasswordEncoder passwordEncoder,
             @Value("${api.endpoint.base-url}") String baseUrl
     ) {
-        RateLimitCheckFilter.disable();
-
         this.mockMvc = staticMockMvc;
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
@@ -111,8 +108,6 @@ public class BaseIntegrationTest {
                 throw new RuntimeException(e);
             }
         });
-
-        RateLimitCheckFilter.enable();
     }
 
     protected String getToken(UUID tenantId, String email) throws Exception {
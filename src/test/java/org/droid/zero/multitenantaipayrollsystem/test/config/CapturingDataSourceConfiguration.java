@@ -0,0 +1,117 @@
+package org.droid.zero.multitenantaipayrollsystem.test.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every prepared statement executed through the application's data source together with the parameters
+ * bound to it, for tests that replay a query exactly as the application ran it. Enable it with
+ * {@code @Import(CapturingDataSourceConfiguration.class)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class CapturingDataSourceConfiguration {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private static final List<CapturedQuery> queries = new CopyOnWriteArrayList<>();
+
+    /**
+     * A {@code PreparedStatement} setter call, e.g. {@code setObject(1, tenantId, Types.OTHER)}.
+     */
+    public record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+                throw new IllegalStateException("Could not bind " + setter.getName(), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * An executed statement and the parameters it ran with, in the order they were bound.
+     */
+    public record CapturedQuery(String sql, List<Binding> bindings) {
+
+        /**
+         * Binds the captured parameters to {@code statement}, which must take them at the same positions.
+         */
+        public void bindTo(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) binding.applyTo(statement);
+        }
+    }
+
+    @Bean
+    static BeanPostProcessor capturingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && beanName.equals("dataSource") ? capturing(dataSource) : bean;
+            }
+        };
+    }
+
+    public static List<CapturedQuery> drain() {
+        List<CapturedQuery> drained = List.copyOf(queries);
+        queries.clear();
+        return drained;
+    }
+
+    private static DataSource capturing(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection connection ? capturing(connection) : result);
+    }
+
+    private static Connection capturing(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().equals("prepareStatement") ? capturing((PreparedStatement) result, (String) args[0]) : result);
+    }
+
+    private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+            if (method.getDeclaringClass() == PreparedStatement.class && method.getName().startsWith("set")) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (args == null && EXECUTE_METHODS.contains(method.getName())) {
+                queries.add(new CapturedQuery(sql, List.copyOf(bindings)));
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.handle(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+}
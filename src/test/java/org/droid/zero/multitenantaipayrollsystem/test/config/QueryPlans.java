@@ -0,0 +1,76 @@
+package org.droid.zero.multitenantaipayrollsystem.test.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.droid.zero.multitenantaipayrollsystem.test.config.CapturingDataSourceConfiguration.CapturedQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the queries captured by {@link CapturingDataSourceConfiguration} through {@code EXPLAIN} for query plan tests.
+ */
+public final class QueryPlans {
+
+    /**
+     * A scan node of a plan.
+     */
+    public record Scan(String nodeType, String relation) {}
+
+    private QueryPlans() {}
+
+    public static List<CapturedQuery> selects(List<CapturedQuery> queries) {
+        return queries.stream()
+                .filter(query -> query.sql().stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+    }
+
+    /**
+     * Plans the query with the parameters it was executed with, bound through the same setters and so with the same
+     * types. The values are known when planning, as they are for the first executions of a JDBC prepared statement,
+     * so partitions are pruned at plan time.
+     */
+    public static List<Scan> scansOf(DataSource dataSource, ObjectMapper objectMapper, CapturedQuery query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + query.sql())) {
+            query.bindTo(statement);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                List<Scan> scans = new ArrayList<>();
+                collectScans(objectMapper.readTree(resultSet.getString(1)), scans);
+                return scans;
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable plan for " + query.sql(), e);
+            }
+        }
+    }
+
+    /**
+     * Runs the query under {@code EXPLAIN (ANALYZE, BUFFERS)} with the parameters it was executed with and returns the
+     * plan as text, with the actual row counts and timings.
+     */
+    public static String analyze(DataSource dataSource, CapturedQuery query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + query.sql())) {
+            query.bindTo(statement);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) plan.append(resultSet.getString(1)).append('\n');
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void collectScans(JsonNode node, List<Scan> scans) {
+        if (node.has("Relation Name")) scans.add(new Scan(node.path("Node Type").asText(), node.get("Relation Name").asText()));
+        node.forEach(child -> collectScans(child, scans));
+    }
+}